@@ -0,0 +1,75 @@
+// Benchmark comparativo dos modelos de execução da API TroubleTicket (k6)
+//
+// Uso (com os mocks do docker-compose rodando):
+//   mvn spring-boot:run                                                # modelo Reactor (padrão)
+//   mvn spring-boot:run -Dspring-boot.run.profiles=virtual-threads     # modelo virtual threads
+//   k6 run -e MODEL=reactor benchmark/trouble-ticket.js
+//
+// Variáveis: BASE_URL (padrão http://localhost:8080), VUS (padrão 50), DURATION (padrão 60s), MODEL (rótulo)
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const API = `${BASE_URL}/tmf-api/troubleTicket/v4/troubleTicket`;
+const VUS = parseInt(__ENV.VUS || '50');
+const DURATION = __ENV.DURATION || '60s';
+const MODEL = __ENV.MODEL || 'reactor';
+
+const createLatency = new Trend('ticket_create_latency', true);
+const getLatency = new Trend('ticket_get_latency', true);
+const listLatency = new Trend('ticket_list_latency', true);
+
+export const options = {
+    scenarios: {
+        create: { executor: 'constant-vus', vus: VUS, duration: DURATION, exec: 'create' },
+        get: { executor: 'constant-vus', vus: VUS, duration: DURATION, exec: 'get' },
+        list: { executor: 'constant-vus', vus: Math.max(1, Math.floor(VUS / 5)), duration: DURATION, exec: 'list' },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(99)', 'max'],
+    tags: { model: MODEL },
+};
+
+const payload = JSON.stringify({
+    name: 'Benchmark - sem sinal de fibra',
+    description: 'Ticket gerado pelo benchmark de modelos de execução',
+    ticketType: 'Reclamação',
+    priority: 'High',
+    severity: 'Major',
+    channel: { id: 'app', name: 'Benchmark' },
+    relatedParty: [{ '@referredType': 'Contact', id: '003xx000004TmiAAE', name: 'João Silva' }],
+    note: [{ text: 'Nota inicial', author: 'k6' }],
+});
+
+const params = { headers: { 'Content-Type': 'application/json' } };
+
+export function setup() {
+    const ids = [];
+    for (let i = 0; i < 100; i++) {
+        const res = http.post(API, payload, params);
+        if (res.status === 201) {
+            ids.push(res.json('id'));
+        }
+    }
+    return { ids };
+}
+
+export function create() {
+    const res = http.post(API, payload, params);
+    createLatency.add(res.timings.duration);
+    check(res, { 'create 201': (r) => r.status === 201 });
+}
+
+export function get(data) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    const res = http.get(`${API}/${id}`);
+    getLatency.add(res.timings.duration);
+    check(res, { 'get 200': (r) => r.status === 200 });
+}
+
+export function list() {
+    const res = http.get(`${API}?status=new&limit=50`);
+    listLatency.add(res.timings.duration);
+    check(res, { 'list 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,17 @@
+-- Migração: ticket_characteristics (JSON em coluna TEXT) -> tabela case_characteristics indexada (PostgreSQL)
+-- Parte 1 de 2: ANTES do deploy da versão que lê e grava case_characteristics
+--
+-- Ordem:
+--   1. Este script: cria a tabela vazia (rápido, sem tocar em cases)
+--   2. Deploy da aplicação
+--   3. db/migrate-case-characteristics-2-post-deploy.sql: cópia dos casos existentes, índice e estatísticas
+--   4. Após validar, remover a coluna antiga (ver o fim da parte 2)
+--
+--   psql -v ON_ERROR_STOP=1 -f db/migrate-case-characteristics-1-pre-deploy.sql
+
+CREATE TABLE IF NOT EXISTS case_characteristics (
+    case_id              VARCHAR(255)  NOT NULL REFERENCES cases (case_id),
+    characteristic_name  VARCHAR(100)  NOT NULL,
+    characteristic_value VARCHAR(1000),
+    PRIMARY KEY (characteristic_name, case_id)
+);
@@ -0,0 +1,49 @@
+-- Migração: ticket_characteristics (JSON em coluna TEXT) -> tabela case_characteristics indexada (PostgreSQL)
+-- Parte 2 de 2: DEPOIS do deploy (a aplicação já grava as características novas em case_characteristics)
+--
+-- Executar com psql fora de transação (autocommit), por causa do COMMIT por bloco e do CREATE INDEX CONCURRENTLY:
+--   psql -v ON_ERROR_STOP=1 -f db/migrate-case-characteristics-2-post-deploy.sql
+--
+-- Pode ser reexecutado: a cópia ignora linhas já existentes e o índice usa IF NOT EXISTS
+
+-- 1. Cópia em blocos de 50 mil casos por keyset em case_id, com commit por bloco
+--    (transações curtas: sem bloqueio longo nem WAL acumulado em 10M casos)
+--    Nomes vazios são ignorados e valores acima de 1000 caracteres são truncados, como na coluna nova
+--    ON CONFLICT DO NOTHING: características gravadas pela aplicação após o deploy prevalecem sobre o JSON
+DO $$
+DECLARE
+    last_id    VARCHAR(255) := '';
+    batch_last VARCHAR(255);
+BEGIN
+    LOOP
+        SELECT MAX(case_id) INTO batch_last
+        FROM (SELECT case_id FROM cases WHERE case_id > last_id ORDER BY case_id LIMIT 50000) batch;
+
+        EXIT WHEN batch_last IS NULL;
+
+        INSERT INTO case_characteristics (case_id, characteristic_name, characteristic_value)
+        SELECT c.case_id, LEFT(kv.key, 100), LEFT(kv.value, 1000)
+        FROM cases c
+        CROSS JOIN LATERAL jsonb_each_text(c.ticket_characteristics::jsonb) kv
+        WHERE c.case_id > last_id
+          AND c.case_id <= batch_last
+          AND c.ticket_characteristics IS NOT NULL
+          AND c.ticket_characteristics <> ''
+          AND jsonb_typeof(c.ticket_characteristics::jsonb) = 'object'
+          AND kv.key <> ''
+        ON CONFLICT DO NOTHING;
+
+        last_id := batch_last;
+        COMMIT;
+    END LOOP;
+END $$;
+
+-- 2. Índice dos filtros ticketCharacteristic.<nome>=<valor>, criado depois da carga (mais rápido que manter durante)
+--    Até aqui os filtros funcionam, mas sem índice
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_case_characteristics_name_value
+    ON case_characteristics (characteristic_name, characteristic_value, case_id);
+
+ANALYZE case_characteristics;
+
+-- 3. Após validar (a aplicação não lê nem grava mais a coluna):
+-- ALTER TABLE cases DROP COLUMN ticket_characteristics;
@@ -0,0 +1,22 @@
+-- Migração: pendência durável de roteamento no Genesys (PostgreSQL)
+--
+-- Ordem:
+--   1. Criar as colunas (antes do deploy da versão que grava routing_next_attempt_at)
+--   2. Criar o índice sem bloquear escritas
+--   3. Deploy da aplicação
+--   4. Opcional: agendar os casos abertos que nunca foram roteados
+--
+-- Executar com psql fora de transação (autocommit), por causa do CREATE INDEX CONCURRENTLY:
+--   psql -v ON_ERROR_STOP=1 -f db/migrate-case-routing-retry.sql
+
+-- 1. Colunas (nulas: sem reescrita da tabela)
+ALTER TABLE cases ADD COLUMN IF NOT EXISTS routing_next_attempt_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE cases ADD COLUMN IF NOT EXISTS routing_attempts INTEGER;
+
+-- 2. Índice da varredura do reconciliador
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cases_routing_next_attempt_at
+    ON cases (routing_next_attempt_at);
+
+-- 4. Casos abertos sem fila (roteamento perdido antes desta versão), após o deploy:
+-- UPDATE cases SET routing_next_attempt_at = now(), routing_attempts = 0
+-- WHERE routing_queue IS NULL AND status NOT IN ('RESOLVED', 'CLOSED', 'CANCELLED');
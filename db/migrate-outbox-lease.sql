@@ -0,0 +1,17 @@
+-- Migração: reserva do outbox do Salesforce em coluna própria (PostgreSQL)
+--
+-- Até esta versão a reserva do dispatcher (lease) e a do fan-out da criação ficavam em next_attempt_at,
+-- junto com o backoff, e a antecipação do backoff após a volta do Salesforce liberava eventos ainda em envio.
+--
+-- Ordem:
+--   1. Criar a coluna (antes do deploy da versão que grava leased_until)
+--   2. Deploy da aplicação
+--
+--   psql -v ON_ERROR_STOP=1 -f db/migrate-outbox-lease.sql
+--
+-- Durante o rolling deploy, nós antigos ainda gravam a reserva em next_attempt_at. Para não antecipar
+-- essas reservas, desative a reconciliação (adapters.salesforce.reconciliation.enabled=false) até o
+-- último nó antigo sair, ou faça o deploy com o circuit breaker do Salesforce fechado.
+
+-- 1. Coluna nula: sem reescrita da tabela
+ALTER TABLE salesforce_outbox ADD COLUMN IF NOT EXISTS leased_until TIMESTAMP(6) WITH TIME ZONE;
@@ -0,0 +1,167 @@
+package com.vivo.crm.casemanagement.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro por ticketCharacteristic: JSON em coluna TEXT (varredura com LIKE) x tabela case_characteristics indexada
+ *
+ * Reproduz no H2 as tabelas e o índice gerados pelo Hibernate, com uma página de 20 casos na ordem do keyset.
+ * Para a escala de produção: -Djmh.args="CharacteristicQueryBenchmark -p casesCount=10000000 -jvmArgs -Xmx12g"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CharacteristicQueryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int NETWORK_ELEMENTS = 5000;
+
+    private static final String JSON_SCAN = """
+            SELECT case_id FROM cases
+            WHERE ticket_characteristics LIKE ?
+            ORDER BY created_at, case_id
+            FETCH FIRST 20 ROWS ONLY""";
+
+    private static final String INDEXED = """
+            SELECT c.case_id FROM cases c
+            JOIN case_characteristics tc ON tc.case_id = c.case_id
+            WHERE tc.characteristic_name = ? AND tc.characteristic_value = ?
+            ORDER BY c.created_at, c.case_id
+            FETCH FIRST 20 ROWS ONLY""";
+
+    private static final String INDEXED_COUNT = """
+            SELECT COUNT(*) FROM cases c
+            JOIN case_characteristics tc ON tc.case_id = c.case_id
+            WHERE tc.characteristic_name = ? AND tc.characteristic_value = ?""";
+
+    @Param({"1000000"})
+    public int casesCount;
+
+    private Connection connection;
+    private PreparedStatement jsonScan;
+    private PreparedStatement indexed;
+    private PreparedStatement indexedCount;
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:characteristics;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    CREATE TABLE cases (
+                        case_id VARCHAR(255) PRIMARY KEY,
+                        created_at TIMESTAMP(6) WITH TIME ZONE,
+                        ticket_characteristics TEXT)""");
+            ddl.execute("CREATE INDEX idx_cases_created_at ON cases (created_at, case_id)");
+            ddl.execute("""
+                    CREATE TABLE case_characteristics (
+                        case_id VARCHAR(255) NOT NULL,
+                        characteristic_name VARCHAR(100) NOT NULL,
+                        characteristic_value VARCHAR(1000),
+                        PRIMARY KEY (characteristic_name, case_id))""");
+
+            ddl.execute("""
+                    INSERT INTO cases
+                    SELECT CAST(X AS VARCHAR), DATEADD('SECOND', X, TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00Z'),
+                           CONCAT('{"msisdn":"', %s, '","networkElement":"OLT-', MOD(X, %d), '"}')
+                    FROM SYSTEM_RANGE(1, %d)""".formatted(msisdnSql(), NETWORK_ELEMENTS, casesCount));
+            ddl.execute("""
+                    INSERT INTO case_characteristics
+                    SELECT CAST(X AS VARCHAR), 'msisdn', %s FROM SYSTEM_RANGE(1, %d)""".formatted(msisdnSql(), casesCount));
+            ddl.execute("""
+                    INSERT INTO case_characteristics
+                    SELECT CAST(X AS VARCHAR), 'networkElement', CONCAT('OLT-', MOD(X, %d))
+                    FROM SYSTEM_RANGE(1, %d)""".formatted(NETWORK_ELEMENTS, casesCount));
+            ddl.execute("""
+                    CREATE INDEX idx_case_characteristics_name_value
+                    ON case_characteristics (characteristic_name, characteristic_value, case_id)""");
+            ddl.execute("ANALYZE");
+        }
+        jsonScan = connection.prepareStatement(JSON_SCAN);
+        indexed = connection.prepareStatement(INDEXED);
+        indexedCount = connection.prepareStatement(INDEXED_COUNT);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    /**
+     * Modelo anterior: sem índice, cada consulta lê e compara o JSON de todos os casos
+     */
+    @Benchmark
+    public List<String> jsonScanByMsisdn() throws SQLException {
+        jsonScan.setString(1, "%\"msisdn\":\"" + nextMsisdn() + "\"%");
+        return ids(jsonScan);
+    }
+
+    @Benchmark
+    public List<String> indexedByMsisdn() throws SQLException {
+        indexed.setString(1, "msisdn");
+        indexed.setString(2, nextMsisdn());
+        return ids(indexed);
+    }
+
+    /**
+     * Valor compartilhado por casesCount / NETWORK_ELEMENTS casos: página de 20 mais o X-Total-Count
+     */
+    @Benchmark
+    public long indexedPageByNetworkElement() throws SQLException {
+        String value = "OLT-" + (next++ % NETWORK_ELEMENTS);
+        indexed.setString(1, "networkElement");
+        indexed.setString(2, value);
+        indexedCount.setString(1, "networkElement");
+        indexedCount.setString(2, value);
+        try (ResultSet count = indexedCount.executeQuery()) {
+            count.next();
+            return ids(indexed).size() + count.getLong(1);
+        }
+    }
+
+    private String nextMsisdn() {
+        next = next % casesCount + 1;
+        return "119" + String.format("%08d", next * 7919L % casesCount + 1);
+    }
+
+    private static String msisdnSql() {
+        return "CONCAT('119', LPAD(CAST(X AS VARCHAR), 8, '0'))";
+    }
+
+    private static List<String> ids(PreparedStatement statement) throws SQLException {
+        List<String> ids = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getString(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,73 @@
+package com.vivo.crm.casemanagement.benchmark;
+
+import com.vivo.crm.casemanagement.domain.model.CasePriority;
+import com.vivo.crm.casemanagement.domain.model.CaseSeverity;
+import com.vivo.crm.casemanagement.domain.model.CaseStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups fromTmfValue/fromSalesforceValue dos enums de domínio
+ * Os valores cobrem o primeiro item, o último item e um valor em caixa diferente
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumLookupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class StatusInput {
+        @Param({"new", "cancelled", "INPROGRESS"})
+        public String value;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PriorityInput {
+        @Param({"Critical", "low"})
+        public String value;
+    }
+
+    @State(Scope.Benchmark)
+    public static class SeverityInput {
+        @Param({"Critical", "minor"})
+        public String value;
+    }
+
+    @State(Scope.Benchmark)
+    public static class SalesforceStatusInput {
+        @Param({"Novo", "Em Andamento", "cancelado"})
+        public String value;
+    }
+
+    @Benchmark
+    public CaseStatus status(StatusInput input) {
+        return CaseStatus.fromTmfValue(input.value);
+    }
+
+    @Benchmark
+    public CaseStatus salesforceStatus(SalesforceStatusInput input) {
+        return CaseStatus.fromSalesforceValue(input.value);
+    }
+
+    @Benchmark
+    public CasePriority priority(PriorityInput input) {
+        return CasePriority.fromTmfValue(input.value);
+    }
+
+    @Benchmark
+    public CaseSeverity severity(SeverityInput input) {
+        return CaseSeverity.fromTmfValue(input.value);
+    }
+}
@@ -0,0 +1,101 @@
+package com.vivo.crm.casemanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceDto;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketCreateRequest;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+import com.vivo.crm.casemanagement.interfaces.rest.mapper.TroubleTicketMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson dos DTOs TMF621 (entrada/saída da API) e dos DTOs do Salesforce
+ * (payload individual e sObject Collections com 200 registros)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private static final int COMPOSITE_SIZE = 200;
+
+    private ObjectReader createRequestReader;
+    private ObjectWriter responseWriter;
+    private ObjectWriter salesforceWriter;
+    private ObjectReader compositeResponseReader;
+
+    private byte[] createRequestJson;
+    private TroubleTicketResponse response;
+    private SalesforceDto.CaseCreateRequest salesforceRequest;
+    private SalesforceDto.CompositeRequest compositeRequest;
+    private byte[] compositeResponseJson;
+
+    @Setup
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = TicketFixtures.objectMapper();
+        createRequestReader = objectMapper.readerFor(TroubleTicketCreateRequest.class);
+        responseWriter = objectMapper.writerFor(TroubleTicketResponse.class);
+        salesforceWriter = objectMapper.writer();
+        compositeResponseReader = objectMapper.readerForListOf(SalesforceDto.CaseCreateResponse.class);
+
+        Case caseEntity = TicketFixtures.caseEntity();
+        createRequestJson = objectMapper.writeValueAsBytes(TicketFixtures.createRequest());
+        response = new TroubleTicketMapper().toResponse(caseEntity);
+        salesforceRequest = TicketFixtures.salesforceCreateRequest(caseEntity);
+
+        List<SalesforceDto.CompositeRecord> records = new ArrayList<>(COMPOSITE_SIZE);
+        List<SalesforceDto.CaseCreateResponse> results = new ArrayList<>(COMPOSITE_SIZE);
+        for (int i = 0; i < COMPOSITE_SIZE; i++) {
+            records.add(SalesforceDto.CompositeRecord.builder().fields(salesforceRequest).build());
+            SalesforceDto.CaseCreateResponse result = new SalesforceDto.CaseCreateResponse();
+            result.setId(String.format("500xx%013d", i));
+            result.setSuccess(true);
+            results.add(result);
+        }
+        compositeRequest = SalesforceDto.CompositeRequest.builder().allOrNone(false).records(records).build();
+        compositeResponseJson = objectMapper.writeValueAsBytes(results);
+    }
+
+    @Benchmark
+    public TroubleTicketCreateRequest readCreateRequest() throws Exception {
+        return createRequestReader.readValue(createRequestJson);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws Exception {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeSalesforceCase() throws Exception {
+        return salesforceWriter.writeValueAsBytes(salesforceRequest);
+    }
+
+    @Benchmark
+    public byte[] writeSalesforceComposite() throws Exception {
+        return salesforceWriter.writeValueAsBytes(compositeRequest);
+    }
+
+    @Benchmark
+    public List<SalesforceDto.CaseCreateResponse> readSalesforceCompositeResponse() throws Exception {
+        return compositeResponseReader.readValue(compositeResponseJson);
+    }
+}
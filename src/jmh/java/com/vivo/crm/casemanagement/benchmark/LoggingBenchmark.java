@@ -0,0 +1,158 @@
+package com.vivo.crm.casemanagement.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.vivo.crm.casemanagement.infrastructure.logging.LogContext;
+import com.vivo.crm.casemanagement.infrastructure.logging.SamplingTurboFilter;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de log por requisição (GET /troubleTicket/{id}) com 8 threads de requisição
+ *
+ * - current: configuração de application.yml (texto síncrono, com.vivo.crm em DEBUG, SQL formatado do show-sql)
+ * - production: perfil prod (JSON em appender assíncrono, INFO do caminho quente amostrado 1/100, sem SQL)
+ *
+ * A saída vai para um arquivo temporário, com flush a cada evento como no stdout.
+ * Com a fila cheia o appender assíncrono descarta eventos até INFO em vez de bloquear, como em produção.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String PROTOCOL = "VIVO-104916428585136128";
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} [%X{correlationId:-}] - %msg%n";
+    private static final String SQL = """
+            Hibernate:\s
+                select
+                    c1_0.case_id,
+                    c1_0.created_at,
+                    c1_0.description,
+                    c1_0.priority,
+                    c1_0.protocol,
+                    c1_0.salesforce_case_id,
+                    c1_0.status,
+                    c1_0.subject,
+                    c1_0.updated_at\s
+                from
+                    cases c1_0\s
+                where
+                    c1_0.protocol=?""";
+
+    @Param({"current", "production"})
+    public String config;
+
+    private Path file;
+    private LoggerContext context;
+    private PrintStream sqlOut;
+    private Logger controller;
+    private Logger service;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("jmh-logging", ".log");
+        context = new LoggerContext();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        if ("current".equals(config)) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setPattern(PATTERN);
+            root.addAppender(fileAppender(encoder));
+            context.getLogger("com.vivo.crm").setLevel(Level.DEBUG);
+            sqlOut = new PrintStream(new FileOutputStream(file.toFile(), true), true);
+        } else {
+            LogstashEncoder encoder = new LogstashEncoder();
+            encoder.setIncludeContext(false);
+            encoder.setCustomFields("{\"app\":\"motor-orquestracao-casos\"}");
+
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender(encoder));
+            async.start();
+            root.addAppender(async);
+
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.setContext(context);
+            sampling.addLoggerName("com.vivo.crm.casemanagement.interfaces.rest.TroubleTicketController");
+            sampling.addLoggerName("com.vivo.crm.casemanagement.application.service.CaseService");
+            sampling.setRate(100);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        controller = context.getLogger("com.vivo.crm.casemanagement.interfaces.rest.TroubleTicketController");
+        service = context.getLogger("com.vivo.crm.casemanagement.application.service.CaseService");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        if (sqlOut != null) {
+            sqlOut.close();
+        }
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void request() {
+        MDC.put(LogContext.CORRELATION_ID, "bench-correlation-id");
+        try {
+            controller.info("📨 GET /troubleTicket/{}", PROTOCOL);
+            service.info("🔍 Buscando caso: {}", PROTOCOL);
+            service.debug("Cache miss, consultando banco: {}", PROTOCOL);
+            if (sqlOut != null) {
+                sqlOut.println(SQL);
+            }
+            service.debug("Caso carregado: {}", PROTOCOL);
+        } finally {
+            MDC.remove(LogContext.CORRELATION_ID);
+        }
+    }
+
+    private FileAppender<ILoggingEvent> fileAppender(Encoder<ILoggingEvent> encoder) {
+        encoder.setContext(context);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(file.toString());
+        appender.setAppend(true);
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,51 @@
+package com.vivo.crm.casemanagement.benchmark;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketCreateRequest;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+import com.vivo.crm.casemanagement.interfaces.rest.mapper.TroubleTicketMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões do TroubleTicketMapper executadas em toda requisição (POST e GET)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private TroubleTicketMapper mapper;
+    private TroubleTicketCreateRequest createRequest;
+    private Case caseEntity;
+
+    @Setup
+    public void setup() {
+        mapper = new TroubleTicketMapper();
+        createRequest = TicketFixtures.createRequest();
+        caseEntity = TicketFixtures.caseEntity();
+    }
+
+    @Benchmark
+    public Case toEntity() {
+        return mapper.toEntity(createRequest);
+    }
+
+    @Benchmark
+    public TroubleTicketResponse toResponse() {
+        return mapper.toResponse(caseEntity);
+    }
+}
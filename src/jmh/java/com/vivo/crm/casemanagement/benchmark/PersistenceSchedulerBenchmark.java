@@ -0,0 +1,126 @@
+package com.vivo.crm.casemanagement.benchmark;
+
+import com.vivo.crm.casemanagement.infrastructure.config.PersistenceSchedulerConfig;
+import com.vivo.crm.casemanagement.infrastructure.persistence.BlockingPersistenceExecutor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ocupação das threads da requisição com leituras e escritas concorrentes, por persistence.scheduler.mode
+ *
+ * Um pool fixo faz o papel dos workers do Tomcat: cada requisição assina o Mono do BlockingPersistenceExecutor
+ * e devolve o worker (como o MVC faz com o Mono do controller). O grupo "mixed" roda:
+ * - load: requisições de leitura e escrita alternadas, cada uma com dbLatencyMs de banco (SLEEP no H2)
+ * - probe: requisição sem banco; o tempo dela é a espera por um worker livre (latência da "event loop")
+ *
+ * Em immediate a chamada JPA prende o worker e o probe espera na fila; nos outros modos o worker volta na hora.
+ * -Djmh.args="PersistenceSchedulerBenchmark -p dbLatencyMs=20"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Group)
+public class PersistenceSchedulerBenchmark {
+
+    private static final int CASES = 1000;
+
+    @Param({"immediate", "bounded-elastic", "virtual-threads"})
+    public String mode;
+
+    @Param({"5"})
+    public int dbLatencyMs;
+
+    // Workers da requisição (server.tomcat.threads.max em escala menor que a carga)
+    @Param({"8"})
+    public int workerThreads;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private Scheduler scheduler;
+    private BlockingPersistenceExecutor executor;
+    private ExecutorService workers;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        long next;
+    }
+
+    @Setup
+    public void setup() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:scheduler-" + mode + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(64);
+
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE ALIAS IF NOT EXISTS SLEEP FOR 'java.lang.Thread.sleep(long)'");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS cases (case_id INT PRIMARY KEY, status VARCHAR(32), version BIGINT)");
+        jdbc.execute("DELETE FROM cases");
+        for (int i = 0; i < CASES; i++) {
+            jdbc.update("INSERT INTO cases VALUES (?, 'acknowledged', 0)", i);
+        }
+
+        scheduler = new PersistenceSchedulerConfig().persistenceScheduler(mode, 20, 10_000);
+        executor = new BlockingPersistenceExecutor(scheduler, new DataSourceTransactionManager(dataSource));
+        workers = Executors.newFixedThreadPool(workerThreads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        workers.shutdownNow();
+        scheduler.dispose();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(16)
+    public Object load(Caller caller) throws Exception {
+        long n = caller.next++;
+        int caseId = (int) (n % CASES);
+        Mono<?> request = n % 2 == 0
+                ? executor.read(tx -> {
+                    jdbc.execute("CALL SLEEP(" + dbLatencyMs + ")");
+                    return jdbc.queryForObject("SELECT status FROM cases WHERE case_id = ?", String.class, caseId);
+                })
+                : executor.write(tx -> {
+                    jdbc.execute("CALL SLEEP(" + dbLatencyMs + ")");
+                    return jdbc.update("UPDATE cases SET version = version + 1 WHERE case_id = ?", caseId);
+                });
+
+        // O worker só assina; a resposta completa depois, fora dele (exceto em immediate)
+        CompletableFuture<?> response = workers.submit(() -> request.toFuture()).get();
+        return response.get();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Object probe() throws Exception {
+        return workers.submit(() -> "pong").get();
+    }
+}
@@ -0,0 +1,150 @@
+package com.vivo.crm.casemanagement.benchmark;
+
+import com.vivo.crm.casemanagement.infrastructure.search.CaseSearchIndex;
+import com.vivo.crm.casemanagement.infrastructure.search.PortugueseTextAnalyzer;
+import com.vivo.crm.casemanagement.infrastructure.search.SearchDocument;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência da busca textual sobre um corpus sintético de tickets (p99 via SampleTime)
+ *
+ * O corpus padrão é pequeno para rodar em poucos minutos; a meta de 10M tickets é medida com
+ * índice em disco: -Djmh.args="SearchBenchmark -p corpusSize=10000000 -p indexPath=/tmp/search-bench -jvmArgs -Xmx8g"
+ * Com indexPath já populado o corpus não é recriado.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final String[] SUBJECTS = {
+        "Fibra sem sinal", "Internet lenta", "Cobrança indevida na fatura", "Portabilidade não concluída",
+        "Troca de plano", "Roteador reiniciando", "Linha muda", "Reclamação de atendimento",
+        "Cancelamento de serviço", "Sinal fraco no celular", "TV sem canais", "Segunda via de boleto"
+    };
+    private static final String[] PHRASES = {
+        "cliente informa que o serviço está intermitente desde ontem",
+        "técnico agendado para visita no endereço de instalação",
+        "valor cobrado diverge do plano contratado",
+        "equipamento apresenta luz vermelha piscando",
+        "solicitado reset remoto sem sucesso",
+        "cliente ameaça abrir reclamação na Anatel",
+        "ordem de serviço aberta para troca de ONT",
+        "velocidade medida abaixo de 30% do contratado",
+        "sem acesso à rede após tempestade no bairro",
+        "cliente pede retorno por telefone no período da tarde"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Maria", "José", "Ana", "João", "Francisca", "Antônio", "Adriana", "Carlos", "Juliana", "Paulo",
+        "Márcia", "Lucas", "Fernanda", "Rafael", "Patrícia", "Bruno"
+    };
+    private static final String[] LAST_NAMES = {
+        "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+        "Costa", "Ribeiro", "Martins", "Carvalho", "Araújo", "Conceição"
+    };
+    private static final int COMMIT_EVERY = 500_000;
+
+    @Param({"200000"})
+    public int corpusSize;
+
+    // Vazio = índice em memória
+    @Param({""})
+    public String indexPath;
+
+    private CaseSearchIndex index;
+
+    @Setup
+    public void setup() throws IOException {
+        Directory directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        index = new CaseSearchIndex(directory, new PortugueseTextAnalyzer(), 256);
+        if (index.numDocs() >= corpusSize) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = index.numDocs(); i < corpusSize; i++) {
+            index.index(document(i, random, base));
+            if ((i + 1) % COMMIT_EVERY == 0) {
+                index.commit();
+            }
+        }
+        index.commit();
+        index.refresh();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public CaseSearchIndex.Hits commonTerms() {
+        return index.search("fibra sem sinal", 0, 20);
+    }
+
+    @Benchmark
+    public CaseSearchIndex.Hits selectiveTerms() {
+        return index.search("cobrança indevida anatel", 0, 20);
+    }
+
+    @Benchmark
+    public CaseSearchIndex.Hits customerName() {
+        return index.search("fernanda conceição", 0, 20);
+    }
+
+    @Benchmark
+    public CaseSearchIndex.Hits cpfFragment() {
+        return index.search("123.4", 0, 20);
+    }
+
+    @Benchmark
+    public CaseSearchIndex.Hits deepPage() {
+        return index.search("internet lenta", 980, 20);
+    }
+
+    private static SearchDocument document(int i, SplittableRandom random, Instant base) {
+        String customerId = String.format("%011d", random.nextLong(100_000_000_000L));
+        List<String> notes = new ArrayList<>();
+        for (int n = random.nextInt(3); n > 0; n--) {
+            notes.add(pick(PHRASES, random) + "; contato " + "119" + String.format("%08d", random.nextInt(100_000_000)));
+        }
+        return new SearchDocument(
+                "CASE-" + i,
+                String.format("2024%010d", i),
+                pick(SUBJECTS, random),
+                pick(PHRASES, random) + ". " + pick(PHRASES, random),
+                customerId,
+                pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random) + " " + pick(LAST_NAMES, random),
+                notes,
+                base.plusSeconds(i));
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,122 @@
+package com.vivo.crm.casemanagement.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CaseNote;
+import com.vivo.crm.casemanagement.domain.model.CasePriority;
+import com.vivo.crm.casemanagement.domain.model.CaseSeverity;
+import com.vivo.crm.casemanagement.domain.model.CaseStatus;
+import com.vivo.crm.casemanagement.domain.model.RelatedParty;
+import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceDto;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketCreateRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Massa de dados dos benchmarks: um ticket "típico" com canal, partes relacionadas,
+ * notas e características, e o ObjectMapper configurado como em application.yml
+ */
+final class TicketFixtures {
+
+    private TicketFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    static TroubleTicketCreateRequest createRequest() {
+        return TroubleTicketCreateRequest.builder()
+                .name("Sem sinal de internet")
+                .description("Cliente relata queda total do serviço de fibra desde ontem à noite")
+                .ticketType("technical")
+                .priority("High")
+                .severity("Major")
+                .channel(TroubleTicketCreateRequest.ChannelRef.builder().id("APP").name("App Vivo").build())
+                .relatedParty(List.of(
+                        TroubleTicketCreateRequest.RelatedPartyDto.builder()
+                                .referredType("Account").id("001xx000003DGb2AAG").name("Maria Silva").role("customer")
+                                .build(),
+                        TroubleTicketCreateRequest.RelatedPartyDto.builder()
+                                .referredType("Contact").id("003xx000004TmiQAAS").name("Maria Silva").role("requester")
+                                .build()))
+                .ticketCharacteristic(List.of(
+                        new TroubleTicketCreateRequest.TicketCharacteristicDto("msisdn", "5511999998888"),
+                        new TroubleTicketCreateRequest.TicketCharacteristicDto("product", "Vivo Fibra 500MB"),
+                        new TroubleTicketCreateRequest.TicketCharacteristicDto("region", "SP")))
+                .build();
+    }
+
+    static Case caseEntity() {
+        Instant now = Instant.parse("2026-01-15T10:15:30Z");
+
+        Map<String, String> characteristics = new HashMap<>();
+        characteristics.put("msisdn", "5511999998888");
+        characteristics.put("product", "Vivo Fibra 500MB");
+        characteristics.put("region", "SP");
+
+        Case caseEntity = Case.builder()
+                .caseId("6f1c2a7e-3b44-4a0e-9c1d-2f5e8b7a9d10")
+                .protocol("VIVO-7120934857123840")
+                .subject("Sem sinal de internet")
+                .description("Cliente relata queda total do serviço de fibra desde ontem à noite")
+                .ticketType("technical")
+                .priority(CasePriority.HIGH)
+                .severity(CaseSeverity.MAJOR)
+                .status(CaseStatus.IN_PROGRESS)
+                .channel("APP")
+                .channelName("App Vivo")
+                .salesforceCaseId("500xx000000bzCkAAI")
+                .salesforceCaseNumber("00001026")
+                .ticketCharacteristics(characteristics)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        List<CaseNote> notes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            notes.add(CaseNote.builder()
+                    .noteId("note-" + i)
+                    .caseEntity(caseEntity)
+                    .text("Atendente registrou contato #" + i)
+                    .author("agente.n1")
+                    .createdAt(now)
+                    .build());
+        }
+        caseEntity.setNotes(notes);
+
+        caseEntity.setRelatedParties(new ArrayList<>(List.of(
+                RelatedParty.builder()
+                        .id("rp-1").caseEntity(caseEntity).referredType("Account")
+                        .partyId("001xx000003DGb2AAG").name("Maria Silva").role("customer").createdAt(now)
+                        .build(),
+                RelatedParty.builder()
+                        .id("rp-2").caseEntity(caseEntity).referredType("Contact")
+                        .partyId("003xx000004TmiQAAS").name("Maria Silva").role("requester").createdAt(now)
+                        .build())));
+
+        return caseEntity;
+    }
+
+    static SalesforceDto.CaseCreateRequest salesforceCreateRequest(Case caseEntity) {
+        return SalesforceDto.CaseCreateRequest.builder()
+                .subject(caseEntity.getSubject())
+                .description(caseEntity.getDescription())
+                .status(caseEntity.getStatus().getSalesforceValue())
+                .priority(caseEntity.getPriority().getSalesforceValue())
+                .type(caseEntity.getTicketType())
+                .origin(caseEntity.getChannelName())
+                .severity(caseEntity.getSeverity().getSalesforceValue())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.vivo.crm.casemanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Motor de Orquestração de Casos - VIVO
@@ -11,6 +12,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * e roteamento (Genesys), seguindo o padrão TMF621 (Trouble Ticket).
  */
 @SpringBootApplication
+@EnableScheduling
 public class CaseManagementApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,204 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.OutboxStatus;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import com.vivo.crm.casemanagement.domain.repository.OutboxEventRepository;
+import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceAdapter;
+import com.vivo.crm.casemanagement.infrastructure.persistence.BlockingPersistenceExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Integrações da criação de caso em paralelo, dentro de um orçamento de latência
+ *
+ * Usado quando o cliente pede a resposta já integrada (Prefer: wait=N). O caso e o evento do outbox
+ * já estão gravados; Salesforce e Genesys são chamados ao mesmo tempo (Mono.zip), cada um com timeout
+ * próprio limitado ao orçamento. O ramo que estoura é cancelado e volta ao caminho assíncrono:
+ * - Salesforce: o evento do outbox, reservado durante o fan-out, é devolvido ao dispatcher
+ * - Genesys: a pendência de roteamento, gravada com o caso, é reagendada no banco (backoff) e só então
+ *   o caso vai para a fila do GenesysRoutingDispatcher; se a fila o perder, o reconciliador o retoma
+ *
+ * Um ramo cancelado depois que o sistema externo já processou a chamada pode gerar duplicidade
+ * na nova tentativa, a mesma garantia (at-least-once) do outbox e do retry do Salesforce.
+ */
+@Component
+@Slf4j
+public class CaseCreationFanOut {
+
+    enum Branch {
+        SALESFORCE, GENESYS
+    }
+
+    enum Outcome {
+        SUCCESS, TIMEOUT, ERROR
+    }
+
+    /**
+     * Resultado dos ramos concluídos no orçamento (null para os que voltaram ao caminho assíncrono)
+     */
+    public record Result(String salesforceCaseId, String routingQueue) {
+    }
+
+    private final SalesforceAdapter salesforceAdapter;
+    private final GenesysRoutingDispatcher routingDispatcher;
+    private final CaseRepository caseRepository;
+    private final OutboxEventRepository outboxRepository;
+    private final BlockingPersistenceExecutor persistence;
+
+    private final boolean enabled;
+    private final Duration maxBudget;
+    private final Duration salesforceTimeout;
+    private final Duration genesysTimeout;
+    private final Duration lease;
+
+    private final Map<Branch, Map<Outcome, Timer>> branchTimers = new EnumMap<>(Branch.class);
+
+    public CaseCreationFanOut(
+            SalesforceAdapter salesforceAdapter,
+            GenesysRoutingDispatcher routingDispatcher,
+            CaseRepository caseRepository,
+            OutboxEventRepository outboxRepository,
+            BlockingPersistenceExecutor persistence,
+            MeterRegistry meterRegistry,
+            @Value("${adapters.fan-out.enabled:true}") boolean enabled,
+            @Value("${adapters.fan-out.max-budget:3s}") Duration maxBudget,
+            @Value("${adapters.fan-out.salesforce-timeout:2s}") Duration salesforceTimeout,
+            @Value("${adapters.fan-out.genesys-timeout:1s}") Duration genesysTimeout,
+            @Value("${adapters.salesforce.outbox.lease:60s}") Duration lease) {
+        this.salesforceAdapter = salesforceAdapter;
+        this.routingDispatcher = routingDispatcher;
+        this.caseRepository = caseRepository;
+        this.outboxRepository = outboxRepository;
+        this.persistence = persistence;
+        this.enabled = enabled;
+        this.maxBudget = maxBudget;
+        this.salesforceTimeout = salesforceTimeout;
+        this.genesysTimeout = genesysTimeout;
+        this.lease = lease;
+
+        for (Branch branch : Branch.values()) {
+            Map<Outcome, Timer> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Timer.builder("cases.fanout.branch")
+                        .description("Latência de cada integração no fan-out da criação (timeout: estourou o orçamento)")
+                        .tags("branch", branch.name().toLowerCase(), "outcome", outcome.name().toLowerCase())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            branchTimers.put(branch, byOutcome);
+        }
+    }
+
+    /**
+     * Orçamento efetivo para o tempo pedido pelo cliente; null quando não há fan-out
+     */
+    public Duration budgetFor(Duration requested) {
+        if (!enabled || requested == null || requested.isZero() || requested.isNegative()) {
+            return null;
+        }
+        return requested.compareTo(maxBudget) > 0 ? maxBudget : requested;
+    }
+
+    /**
+     * Até quando o evento do outbox fica reservado para o fan-out (o dispatcher só o assume depois)
+     */
+    public Instant reservedUntil() {
+        return Instant.now().plus(lease);
+    }
+
+    public Mono<Result> execute(Case caseEntity, Long outboxEventId, GenesysRoutingDispatcher.RoutingTask routing,
+                                Duration budget) {
+        return Mono.zip(salesforce(caseEntity, outboxEventId, min(salesforceTimeout, budget)),
+                        genesys(routing, min(genesysTimeout, budget)))
+                .map(branches -> new Result(branches.getT1().orElse(null), branches.getT2().orElse(null)));
+    }
+
+    private Mono<Optional<String>> salesforce(Case caseEntity, Long outboxEventId, Duration timeout) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return salesforceAdapter.createCase(caseEntity)
+                    .timeout(timeout)
+                    .flatMap(response -> response.isSuccess()
+                            ? Mono.just(response.getId())
+                            : Mono.error(new IllegalStateException(
+                                    "Salesforce rejeitou o registro: " + Arrays.toString(response.getErrors()))))
+                    .flatMap(salesforceCaseId -> persistence.write(tx -> {
+                        caseRepository.updateSalesforceCaseId(caseEntity.getCaseId(), salesforceCaseId);
+                        outboxRepository.markDone(outboxEventId, OutboxStatus.PENDING, OutboxStatus.DONE, Instant.now());
+                        return salesforceCaseId;
+                    }))
+                    .map(Optional::of)
+                    .doOnNext(salesforceCaseId -> record(Branch.SALESFORCE, Outcome.SUCCESS, start))
+                    .onErrorResume(error -> {
+                        fail(Branch.SALESFORCE, error, start, caseEntity.getProtocol());
+                        // Devolve o evento ao outbox: o dispatcher tenta de novo no próximo ciclo
+                        return persistence.write(tx -> outboxRepository.release(
+                                        outboxEventId, OutboxStatus.PENDING, Instant.now(), error.getMessage()))
+                                .onErrorResume(releaseError -> {
+                                    log.warn("⚠️ Evento {} segue reservado até o fim do lease: {}",
+                                            outboxEventId, releaseError.getMessage());
+                                    return Mono.empty();
+                                })
+                                .then(Mono.just(Optional.<String>empty()));
+                    });
+        });
+    }
+
+    private Mono<Optional<String>> genesys(GenesysRoutingDispatcher.RoutingTask routing, Duration timeout) {
+        if (!routingDispatcher.isEnabled()) {
+            return Mono.just(Optional.<String>empty());
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return routingDispatcher.routeNow(routing)
+                    .timeout(timeout)
+                    .map(Optional::of)
+                    .doOnNext(queue -> record(Branch.GENESYS, Outcome.SUCCESS, start))
+                    .onErrorResume(error -> {
+                        fail(Branch.GENESYS, error, start, routing.protocol());
+                        // Fila em memória só depois da nova tentativa gravada; sem ela vale a pendência da criação
+                        return routingDispatcher.scheduleRetry(routing)
+                                .onErrorResume(scheduleError -> {
+                                    log.warn("⚠️ Roteamento de {} segue pendente até vencer a carência: {}",
+                                            routing.protocol(), scheduleError.getMessage());
+                                    return Mono.empty();
+                                })
+                                .then(Mono.fromRunnable(() -> routingDispatcher.submit(routing.nextAttempt())))
+                                .then(Mono.just(Optional.<String>empty()));
+                    });
+        });
+    }
+
+    private void fail(Branch branch, Throwable error, long start, String protocol) {
+        if (error instanceof TimeoutException) {
+            record(branch, Outcome.TIMEOUT, start);
+            log.warn("⏱️ Fan-out da criação: {} estourou o orçamento, segue assíncrono: protocol={}", branch, protocol);
+        } else {
+            record(branch, Outcome.ERROR, start);
+            log.warn("⚠️ Fan-out da criação: {} falhou, segue assíncrono: protocol={}, erro={}",
+                    branch, protocol, error.getMessage());
+        }
+    }
+
+    private void record(Branch branch, Outcome outcome, long start) {
+        branchTimers.get(branch).get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,196 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CasePriority;
+import com.vivo.crm.casemanagement.domain.model.CaseStatus;
+import com.vivo.crm.casemanagement.domain.model.InvalidEnumValueException;
+import com.vivo.crm.casemanagement.domain.model.InvalidRequestException;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de domínio do ciclo de vida dos casos
+ *
+ * - cases.operation{operation,outcome}: latência das operações do CaseService (histograma)
+ * - cases.count{status,priority}: casos na base, atualizado periodicamente por um GROUP BY
+ * - cases.resolution.time{priority}: tempo entre createdAt e resolvedAt (histograma)
+ *
+ * Todas as tags vêm de enums: a cardinalidade é fixa, independente do volume de casos
+ * (atraso de sincronização com o Salesforce: salesforce.outbox.lag/pending e salesforce.outbox.sync.lag)
+ */
+@Component
+@Slf4j
+public class CaseMetrics {
+
+    public enum Operation {
+        CREATE, CREATE_BULK, GET, LIST, STREAM, SEARCH, CUSTOMER_SUMMARY, UPDATE, DELETE;
+
+        String tag() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    enum Outcome {
+        SUCCESS, NOT_FOUND, INVALID, ERROR, CANCELLED;
+
+        String tag() {
+            return name().toLowerCase().replace('_', '-');
+        }
+
+        static Outcome of(Throwable error) {
+            if (error instanceof CaseService.CaseNotFoundException) {
+                return NOT_FOUND;
+            }
+            return error instanceof InvalidRequestException || error instanceof InvalidEnumValueException
+                    ? INVALID
+                    : ERROR;
+        }
+    }
+
+    private final CaseRepository caseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean countsEnabled;
+
+    // Registrados no primeiro uso: combinações que nunca ocorrem (ex.: stream/not-found) não geram séries
+    private final Timer[][] operationTimers = new Timer[Operation.values().length][Outcome.values().length];
+    private final Map<CasePriority, Timer> resolutionTimers = new EnumMap<>(CasePriority.class);
+    private final Map<CaseStatus, Map<CasePriority, AtomicLong>> counts = new EnumMap<>(CaseStatus.class);
+
+    public CaseMetrics(
+            CaseRepository caseRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${metrics.cases.counts.enabled:true}") boolean countsEnabled) {
+        this.caseRepository = caseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.countsEnabled = countsEnabled;
+
+        for (CasePriority priority : CasePriority.values()) {
+            resolutionTimers.put(priority, Timer.builder("cases.resolution.time")
+                    .description("Tempo entre a abertura e a resolução do caso")
+                    .tag("priority", priority.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMinutes(1))
+                    .maximumExpectedValue(Duration.ofDays(30))
+                    .register(meterRegistry));
+        }
+
+        for (CaseStatus status : CaseStatus.values()) {
+            Map<CasePriority, AtomicLong> byPriority = new EnumMap<>(CasePriority.class);
+            for (CasePriority priority : CasePriority.values()) {
+                AtomicLong count = new AtomicLong();
+                byPriority.put(priority, count);
+                Gauge.builder("cases.count", count, AtomicLong::get)
+                        .description("Casos na base por status e prioridade")
+                        .tags("status", status.name().toLowerCase(), "priority", priority.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+            counts.put(status, byPriority);
+        }
+    }
+
+    /**
+     * Mede a operação do assinante até o término (sucesso, erro ou cancelamento)
+     * Exceções lançadas ao montar o Mono (ex.: filtro inválido) também são medidas
+     */
+    public <T> Mono<T> timed(Operation operation, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return Mono.defer(call)
+                    .doOnError(failure::set)
+                    .doFinally(signal -> record(operation, signal, failure.get(), start));
+        });
+    }
+
+    public <T> Flux<T> timedMany(Operation operation, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return Flux.defer(call)
+                    .doOnError(failure::set)
+                    .doFinally(signal -> record(operation, signal, failure.get(), start));
+        });
+    }
+
+    /**
+     * Registra o tempo de resolução de um caso que acabou de ser resolvido
+     */
+    public void recordResolution(Case caseEntity) {
+        if (caseEntity.getCreatedAt() == null || caseEntity.getResolvedAt() == null) {
+            return;
+        }
+        Duration elapsed = Duration.between(caseEntity.getCreatedAt(), caseEntity.getResolvedAt());
+        if (elapsed.isNegative()) {
+            return;
+        }
+        CasePriority priority = caseEntity.getPriority() != null ? caseEntity.getPriority() : CasePriority.MEDIUM;
+        resolutionTimers.get(priority).record(elapsed);
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.cases.counts.refresh-interval-ms:30000}",
+               initialDelayString = "${metrics.cases.counts.refresh-interval-ms:30000}")
+    public void refreshCounts() {
+        if (!countsEnabled) {
+            return;
+        }
+        try {
+            Map<CaseStatus, Map<CasePriority, Long>> current = new EnumMap<>(CaseStatus.class);
+            transactionTemplate.executeWithoutResult(status -> caseRepository.countByStatusAndPriority()
+                    .forEach(row -> {
+                        if (row.getStatus() != null && row.getPriority() != null) {
+                            current.computeIfAbsent(row.getStatus(), s -> new EnumMap<>(CasePriority.class))
+                                    .put(row.getPriority(), row.getTotal());
+                        }
+                    }));
+            // Combinações ausentes no resultado voltam a zero
+            counts.forEach((caseStatus, byPriority) -> byPriority.forEach((priority, count) ->
+                    count.set(current.getOrDefault(caseStatus, Map.of()).getOrDefault(priority, 0L))));
+        } catch (Exception e) {
+            log.debug("Não foi possível atualizar a contagem de casos: {}", e.getMessage());
+        }
+    }
+
+    private void record(Operation operation, SignalType signal, Throwable error, long start) {
+        Outcome outcome = error != null
+                ? Outcome.of(error)
+                : signal == SignalType.CANCEL ? Outcome.CANCELLED : Outcome.SUCCESS;
+        operationTimer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer operationTimer(Operation operation, Outcome outcome) {
+        Timer timer = operationTimers[operation.ordinal()][outcome.ordinal()];
+        if (timer == null) {
+            // Corrida benigna: o registry devolve a mesma instância para o mesmo nome e tags
+            timer = Timer.builder("cases.operation")
+                    .description("Latência das operações sobre casos")
+                    .tags("operation", operation.tag(), "outcome", outcome.tag())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+            operationTimers[operation.ordinal()][outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,188 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import com.vivo.crm.casemanagement.domain.repository.CaseSpecifications;
+import com.vivo.crm.casemanagement.infrastructure.persistence.BlockingPersistenceExecutor;
+import com.vivo.crm.casemanagement.infrastructure.search.CaseSearchIndex;
+import com.vivo.crm.casemanagement.infrastructure.search.SearchDocument;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketPage;
+import com.vivo.crm.casemanagement.interfaces.rest.mapper.TroubleTicketMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Busca textual de tickets sobre o CaseSearchIndex
+ *
+ * O índice é atualizado após o commit de cada criação/atualização (CaseService, SalesforceChangeIngestor)
+ * e as alterações ficam visíveis no próximo refresh (search.index.refresh-interval-ms).
+ * Uma falha ao indexar não desfaz a operação: o caso volta ao índice na próxima alteração ou reconstrução.
+ */
+@Service
+@Slf4j
+public class CaseSearchService {
+
+    private static final Sort KEYSET_ORDER = Sort.by("createdAt", "caseId");
+
+    private final CaseSearchIndex index;
+    private final CaseRepository caseRepository;
+    private final TroubleTicketMapper mapper;
+    private final BlockingPersistenceExecutor persistence;
+    private final CaseMetrics caseMetrics;
+    private final boolean rebuildOnStartup;
+    private final int rebuildBatchSize;
+    private final Timer queryTimer;
+
+    public CaseSearchService(
+            CaseSearchIndex index,
+            CaseRepository caseRepository,
+            TroubleTicketMapper mapper,
+            BlockingPersistenceExecutor persistence,
+            CaseMetrics caseMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${search.index.rebuild-on-startup:true}") boolean rebuildOnStartup,
+            @Value("${search.index.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.index = index;
+        this.caseRepository = caseRepository;
+        this.mapper = mapper;
+        this.persistence = persistence;
+        this.caseMetrics = caseMetrics;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildBatchSize = rebuildBatchSize;
+
+        Gauge.builder("search.index.docs", index, CaseSearchIndex::numDocs)
+                .description("Tickets no índice de busca")
+                .register(meterRegistry);
+        this.queryTimer = Timer.builder("search.index.query")
+                .description("Latência da consulta ao índice (sem a carga dos tickets no banco)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Busca ranqueada por relevância; a página é carregada do banco na ordem do ranking
+     */
+    public Mono<TroubleTicketPage> search(String text, int offset, int limit) {
+        return caseMetrics.timed(CaseMetrics.Operation.SEARCH, () -> {
+            log.info("🔎 Buscando casos: q={}, offset={}, limit={}", text, offset, limit);
+
+            return Mono.fromCallable(() -> queryTimer.record(() -> index.search(text, offset, limit)))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(hits -> hits.caseIds().isEmpty()
+                            ? Mono.just(page(List.of(), hits))
+                            : persistence.read(tx -> {
+                                Map<String, Case> cases = caseRepository.findAllById(hits.caseIds()).stream()
+                                        .collect(Collectors.toMap(Case::getCaseId, Function.identity()));
+                                // findAllById não preserva a ordem: reaplica o ranking
+                                return page(hits.caseIds().stream()
+                                        .map(cases::get)
+                                        .filter(Objects::nonNull)
+                                        .toList(), hits);
+                            }));
+        });
+    }
+
+    public void index(SearchDocument document) {
+        indexAll(List.of(document));
+    }
+
+    public void indexAll(Collection<SearchDocument> documents) {
+        try {
+            index.indexAll(documents);
+        } catch (Exception e) {
+            log.warn("⚠️ Falha ao indexar {} casos para busca: {}", documents.size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            index.refresh();
+        } catch (Exception e) {
+            log.error("❌ Erro ao atualizar o índice de busca: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:30000}")
+    public void commit() {
+        try {
+            index.commit();
+        } catch (Exception e) {
+            log.error("❌ Erro ao gravar o índice de busca: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reindexa todos os casos em blocos por keyset, fora da thread de inicialização
+     * Um caso alterado durante a reconstrução pode ficar com a versão lida pelo bloco até a próxima alteração
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("❌ Erro ao reconstruir o índice de busca: {}", e.getMessage());
+            }
+        });
+    }
+
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        KeysetCursor last = null;
+        while (true) {
+            KeysetCursor after = last;
+            List<SearchDocument> documents = persistence.read(tx -> {
+                Specification<Case> spec = after == null
+                        ? CaseSpecifications.withFilters(null, null, null)
+                        : CaseSpecifications.createdAfter(after.createdAt(), after.caseId());
+                List<Case> cases = caseRepository.findBy(spec,
+                        query -> query.sortBy(KEYSET_ORDER).limit(rebuildBatchSize).all());
+                return cases.stream().map(SearchDocument::of).toList();
+            }).block();
+            if (documents == null || documents.isEmpty()) {
+                break;
+            }
+            index.indexAll(documents);
+            total += documents.size();
+            SearchDocument tail = documents.get(documents.size() - 1);
+            last = new KeysetCursor(tail.createdAt(), tail.caseId());
+            if (documents.size() < rebuildBatchSize) {
+                break;
+            }
+        }
+        index.commit();
+        index.refresh();
+        log.info("🔎 Índice de busca reconstruído: {} casos em {} ms", total, System.currentTimeMillis() - start);
+    }
+
+    private TroubleTicketPage page(List<Case> cases, CaseSearchIndex.Hits hits) {
+        return TroubleTicketPage.builder()
+                .items(cases.stream().map(mapper::toResponse).collect(Collectors.toList()))
+                .totalCount(hits.total())
+                .totalCountExact(hits.totalExact())
+                .build();
+    }
+}
@@ -2,43 +2,290 @@ package com.vivo.crm.casemanagement.application.service;
 
 import com.vivo.crm.casemanagement.domain.model.*;
 import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
-import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceAdapter;
-import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceDto;
+import com.vivo.crm.casemanagement.domain.repository.CaseSpecifications;
+import com.vivo.crm.casemanagement.domain.repository.OutboxEventRepository;
+import com.vivo.crm.casemanagement.domain.service.ProtocolGenerator;
+import com.vivo.crm.casemanagement.infrastructure.cache.TicketCache;
+import com.vivo.crm.casemanagement.infrastructure.persistence.BlockingPersistenceExecutor;
+import com.vivo.crm.casemanagement.infrastructure.persistence.OffsetPageRequest;
+import com.vivo.crm.casemanagement.infrastructure.search.SearchDocument;
 import com.vivo.crm.casemanagement.interfaces.rest.dto.*;
 import com.vivo.crm.casemanagement.interfaces.rest.mapper.TroubleTicketMapper;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
  * Serviço de aplicação para gerenciamento de casos
  * Orquestra o fluxo entre a API TMF621 e o Salesforce
+ * A sincronização com o Salesforce é registrada no outbox e drenada pelo SalesforceOutboxDispatcher
+ * Todo acesso ao JPA roda no scheduler de persistência, nunca na thread da requisição
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CaseService {
 
+    private static final Sort KEYSET_ORDER = Sort.by("createdAt", "caseId");
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private final CaseRepository caseRepository;
-    private final SalesforceAdapter salesforceAdapter;
+    private final OutboxEventRepository outboxRepository;
     private final TroubleTicketMapper mapper;
+    private final BlockingPersistenceExecutor persistence;
+    private final ProtocolGenerator protocolGenerator;
+    private final TicketCache ticketCache;
+    private final Validator validator;
+    private final CaseMetrics caseMetrics;
+    private final GenesysRoutingDispatcher routingDispatcher;
+    private final CaseCreationFanOut fanOut;
+    private final CaseSearchService searchService;
+    private final CustomerSummaryService customerSummaries;
 
     /**
      * Cria um novo caso
-     * Fluxo: Recebe TMF621 -> Salva local -> Envia para Salesforce -> Atualiza com ID do SF
+     * Fluxo: Recebe TMF621 -> Salva local + outbox (mesma transação) -> Dispatcher envia para Salesforce
+     * Após o commit o caso é enfileirado para roteamento no Genesys, sem esperar a resposta
+     *
+     * Com wait (Prefer: wait=N) Salesforce e Genesys são chamados em paralelo antes de responder,
+     * dentro do orçamento; o que não concluir a tempo segue pelo caminho assíncrono (CaseCreationFanOut)
+     */
+    public Mono<TroubleTicketResponse> createCase(TroubleTicketCreateRequest request, Duration wait) {
+        return caseMetrics.timed(CaseMetrics.Operation.CREATE, () -> {
+            log.info("🎫 Iniciando criação de caso: {}", request.getName());
+
+            Case caseEntity = buildCase(request);
+            routingDispatcher.markPending(caseEntity);
+            Duration budget = fanOut.budgetFor(wait);
+
+            // Salvar localmente e registrar sincronização pendente na mesma transação
+            AtomicReference<OutboxEvent> outboxEvent = new AtomicReference<>();
+            AtomicReference<GenesysRoutingDispatcher.RoutingTask> routing = new AtomicReference<>();
+            AtomicReference<SearchDocument> searchDocument = new AtomicReference<>();
+            AtomicReference<CustomerSummaryService.Change> summaryChange = new AtomicReference<>();
+            Mono<TroubleTicketResponse> saved = persistence.write(tx -> {
+                Case savedCase = caseRepository.save(caseEntity);
+                OutboxEvent event = OutboxEvent.pending(savedCase.getCaseId(), OutboxOperation.CREATE);
+                if (budget != null) {
+                    // Reservado para o fan-out: o dispatcher só assume o evento se ele não for concluído nem devolvido
+                    event.setLeasedUntil(fanOut.reservedUntil());
+                }
+                outboxEvent.set(outboxRepository.save(event));
+                routing.set(GenesysRoutingDispatcher.RoutingTask.of(savedCase, GenesysRoutingDispatcher.Reason.CREATED));
+                searchDocument.set(SearchDocument.of(savedCase));
+                log.info("💾 Caso salvo localmente: protocol={}", savedCase.getProtocol());
+                TroubleTicketResponse response = mapper.toResponse(savedCase);
+                summaryChange.set(CustomerSummaryService.Change.of(savedCase, response, true));
+                return response;
+            }).doOnSuccess(response -> searchService.index(searchDocument.get()));
+
+            Mono<TroubleTicketResponse> created = budget == null
+                    ? saved.doOnSuccess(response -> routingDispatcher.submit(routing.get()))
+                    : saved.flatMap(response -> fanOut.execute(caseEntity, outboxEvent.get().getEventId(), routing.get(), budget)
+                            .map(result -> {
+                                response.setSalesforceCaseId(result.salesforceCaseId());
+                                return response;
+                            }));
+            // Depois do fan-out: o resumo guarda a resposta já com o salesforceCaseId, quando houver
+            return created.doOnSuccess(response -> customerSummaries.apply(summaryChange.get()));
+        });
+    }
+
+    /**
+     * Cria casos em lote
+     * Itens inválidos são rejeitados individualmente; os válidos são gravados em uma única transação
+     * (batch insert JDBC) e sincronizados com o Salesforce pelo outbox via sObject Collections
+     */
+    public Mono<TroubleTicketBulkResponse> createCases(List<TroubleTicketCreateRequest> requests) {
+        return caseMetrics.timed(CaseMetrics.Operation.CREATE_BULK, () -> {
+            log.info("🎫 Iniciando criação em lote: {} casos", requests.size());
+
+            TroubleTicketBulkResponse.ItemResult[] results = new TroubleTicketBulkResponse.ItemResult[requests.size()];
+            List<Integer> validIndexes = new ArrayList<>();
+            List<Case> cases = new ArrayList<>();
+
+            for (int i = 0; i < requests.size(); i++) {
+                TroubleTicketCreateRequest request = requests.get(i);
+                List<String> errors = request == null
+                        ? List.of("Item nulo")
+                        : validator.validate(request).stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .toList();
+                if (errors.isEmpty()) {
+                    try {
+                        Case caseEntity = buildCase(request);
+                        routingDispatcher.markPending(caseEntity);
+                        cases.add(caseEntity);
+                        validIndexes.add(i);
+                    } catch (InvalidEnumValueException e) {
+                        errors = List.of(e.getMessage());
+                    }
+                }
+                if (!errors.isEmpty()) {
+                    results[i] = TroubleTicketBulkResponse.ItemResult.builder()
+                            .index(i)
+                            .status("rejected")
+                            .errors(errors)
+                            .build();
+                }
+            }
+
+            List<GenesysRoutingDispatcher.RoutingTask> routing = new ArrayList<>();
+            List<SearchDocument> searchDocuments = new ArrayList<>();
+            List<CustomerSummaryService.Change> summaryChanges = new ArrayList<>();
+            Mono<List<TroubleTicketResponse>> created = cases.isEmpty()
+                    ? Mono.just(List.of())
+                    : persistence.write(tx -> {
+                        List<Case> savedCases = caseRepository.saveAll(cases);
+                        outboxRepository.saveAll(savedCases.stream()
+                                .map(saved -> OutboxEvent.pending(saved.getCaseId(), OutboxOperation.CREATE))
+                                .toList());
+                        savedCases.forEach(saved -> {
+                            routing.add(GenesysRoutingDispatcher.RoutingTask.of(saved, GenesysRoutingDispatcher.Reason.CREATED));
+                            searchDocuments.add(SearchDocument.of(saved));
+                        });
+                        return savedCases.stream().map(saved -> {
+                            TroubleTicketResponse response = mapper.toResponse(saved);
+                            summaryChanges.add(CustomerSummaryService.Change.of(saved, response, true));
+                            return response;
+                        }).toList();
+                    }).doOnSuccess(responses -> {
+                        searchService.indexAll(searchDocuments);
+                        routingDispatcher.submitAll(routing);
+                        customerSummaries.applyAll(summaryChanges);
+                    });
+
+            return created.map(responses -> {
+                for (int i = 0; i < responses.size(); i++) {
+                    int index = validIndexes.get(i);
+                    results[index] = TroubleTicketBulkResponse.ItemResult.builder()
+                            .index(index)
+                            .status("created")
+                            .ticket(responses.get(i))
+                            .build();
+                }
+                log.info("💾 Lote salvo localmente: {} criados, {} rejeitados",
+                        responses.size(), requests.size() - responses.size());
+                return TroubleTicketBulkResponse.builder()
+                        .total(requests.size())
+                        .created(responses.size())
+                        .rejected(requests.size() - responses.size())
+                        .results(Arrays.asList(results))
+                        .build();
+            });
+        });
+    }
+
+    /**
+     * Busca um caso pelo ID (protocol), passando pelo cache de tickets
+     */
+    public Mono<TroubleTicketResponse> getCaseById(String id) {
+        return caseMetrics.timed(CaseMetrics.Operation.GET, () -> {
+            log.info("🔍 Buscando caso: {}", id);
+
+            return ticketCache.get(id, () -> persistence.read(tx -> caseRepository.findByProtocol(id)
+                    .map(mapper::toResponse)
+                    .orElseThrow(() -> new CaseNotFoundException("Caso não encontrado: " + id))));
+        });
+    }
+
+    /**
+     * Lista casos com filtros opcionais
+     * Com cursor usa paginação por keyset sobre (createdAt, caseId); sem cursor usa offset/limit
      */
-    @Transactional
-    public Mono<TroubleTicketResponse> createCase(TroubleTicketCreateRequest request) {
-        log.info("🎫 Iniciando criação de caso: {}", request.getName());
+    public Mono<TroubleTicketPage> listCases(String status, String priority, String ticketType,
+                                             Map<String, String> characteristics, String customerId,
+                                             int offset, int limit, String cursor) {
+        return caseMetrics.timed(CaseMetrics.Operation.LIST, () -> {
+            log.info("📋 Listando casos - status={}, priority={}, ticketType={}, characteristics={}, customerId={}, offset={}, limit={}, cursor={}",
+                    status, priority, ticketType, characteristics, customerId, offset, limit, cursor);
+
+            CaseStatus caseStatus = status != null ? CaseStatus.fromTmfValue(status) : null;
+            CasePriority casePriority = priority != null ? CasePriority.fromTmfValue(priority) : null;
+
+            Specification<Case> filters = CaseSpecifications.withFilters(caseStatus, casePriority, ticketType,
+                    characteristics).and(CaseSpecifications.hasCustomerId(customerId));
+
+            if (cursor != null) {
+                KeysetCursor after = KeysetCursor.decode(cursor);
+                return persistence.read(tx -> {
+                    List<Case> cases = findAfter(filters, after, limit);
+                    return TroubleTicketPage.builder()
+                            .items(cases.stream().map(mapper::toResponse).collect(Collectors.toList()))
+                            .totalCount(caseRepository.count(filters))
+                            .nextCursor(nextCursor(cases, limit))
+                            .build();
+                });
+            }
+
+            return persistence.read(tx -> {
+                Page<Case> page = caseRepository.findAll(filters, new OffsetPageRequest(offset, limit, KEYSET_ORDER));
+                return TroubleTicketPage.builder()
+                        .items(page.stream().map(mapper::toResponse).collect(Collectors.toList()))
+                        .totalCount(page.getTotalElements())
+                        .nextCursor(nextCursor(page.getContent(), limit))
+                        .build();
+            });
+        });
+    }
+
+    /**
+     * Exporta casos em streaming, percorrendo o resultado em blocos por keyset
+     * A memória usada é limitada ao tamanho do bloco, independente do total exportado
+     */
+    public Flux<TroubleTicketResponse> streamCases(String status, String priority, String ticketType,
+                                                   Map<String, String> characteristics) {
+        return caseMetrics.timedMany(CaseMetrics.Operation.STREAM, () -> {
+            log.info("📤 Exportando casos - status={}, priority={}, ticketType={}, characteristics={}",
+                    status, priority, ticketType, characteristics);
+
+            CaseStatus caseStatus = status != null ? CaseStatus.fromTmfValue(status) : null;
+            CasePriority casePriority = priority != null ? CasePriority.fromTmfValue(priority) : null;
+
+            Specification<Case> filters = CaseSpecifications.withFilters(caseStatus, casePriority, ticketType,
+                    characteristics);
+
+            return fetchChunk(filters, null)
+                    .expand(chunk -> chunk.nextCursor() == null
+                            ? Mono.empty()
+                            : fetchChunk(filters, chunk.nextCursor()))
+                    .concatMapIterable(StreamChunk::items);
+        });
+    }
 
+    private Mono<StreamChunk> fetchChunk(Specification<Case> filters, KeysetCursor after) {
+        return persistence.read(tx -> {
+            List<Case> cases = findAfter(filters, after, STREAM_CHUNK_SIZE);
+            List<TroubleTicketResponse> items = cases.stream()
+                    .map(mapper::toResponse)
+                    .collect(Collectors.toList());
+            KeysetCursor next = cases.size() < STREAM_CHUNK_SIZE ? null : cursorOf(cases.get(cases.size() - 1));
+            return new StreamChunk(items, next);
+        });
+    }
+
+    /**
+     * Monta a entidade Case a partir da requisição TMF621, já com protocolo, partes relacionadas e notas
+     */
+    private Case buildCase(TroubleTicketCreateRequest request) {
         // 1. Converter para entidade de domínio
         Case caseEntity = mapper.toEntity(request);
+        caseEntity.setProtocol(protocolGenerator.nextProtocol());
 
         // 2. Adicionar partes relacionadas
         if (request.getRelatedParty() != null) {
@@ -70,117 +317,139 @@ public class CaseService {
             }
         }
 
-        // 4. Salvar localmente primeiro
-        Case savedCase = caseRepository.save(caseEntity);
-        log.info("💾 Caso salvo localmente: protocol={}", savedCase.getProtocol());
-
-        // 5. Enviar para Salesforce de forma assíncrona
-        return salesforceAdapter.createCase(savedCase)
-                .map(sfResponse -> {
-                    // 6. Atualizar com dados do Salesforce
-                    savedCase.setSalesforceCaseId(sfResponse.getId());
-                    if (sfResponse.isSuccess()) {
-                        log.info("✅ Caso sincronizado com Salesforce: sfId={}", sfResponse.getId());
-                    } else {
-                        log.warn("⚠️ Caso criado localmente, mas houve problema no Salesforce");
-                    }
-                    caseRepository.save(savedCase);
-                    return mapper.toResponse(savedCase);
-                })
-                .onErrorResume(error -> {
-                    log.error("❌ Erro na integração com Salesforce: {}", error.getMessage());
-                    // Retorna o caso mesmo sem sincronização com SF
-                    return Mono.just(mapper.toResponse(savedCase));
-                });
+        return caseEntity;
     }
 
-    /**
-     * Busca um caso pelo ID (protocol)
-     */
-    public Mono<TroubleTicketResponse> getCaseById(String id) {
-        log.info("🔍 Buscando caso: {}", id);
-
-        return Mono.justOrEmpty(caseRepository.findByProtocol(id))
-                .map(mapper::toResponse)
-                .switchIfEmpty(Mono.error(new CaseNotFoundException("Caso não encontrado: " + id)));
+    private List<Case> findAfter(Specification<Case> filters, KeysetCursor after, int limit) {
+        Specification<Case> spec = after == null
+                ? filters
+                : filters.and(CaseSpecifications.createdAfter(after.createdAt(), after.caseId()));
+        return caseRepository.findBy(spec, query -> query.sortBy(KEYSET_ORDER).limit(limit).all());
     }
 
-    /**
-     * Lista casos com filtros opcionais
-     */
-    public Mono<List<TroubleTicketResponse>> listCases(String status, String priority, String ticketType) {
-        log.info("📋 Listando casos - status={}, priority={}, ticketType={}", status, priority, ticketType);
-
-        CaseStatus caseStatus = status != null ? CaseStatus.fromTmfValue(status) : null;
-        CasePriority casePriority = priority != null ? CasePriority.fromTmfValue(priority) : null;
-
-        List<Case> cases = caseRepository.findByFilters(caseStatus, casePriority, ticketType);
+    private String nextCursor(List<Case> cases, int limit) {
+        return cases.size() < limit ? null : cursorOf(cases.get(cases.size() - 1)).encode();
+    }
 
-        List<TroubleTicketResponse> responses = cases.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+    private KeysetCursor cursorOf(Case caseEntity) {
+        return new KeysetCursor(caseEntity.getCreatedAt(), caseEntity.getCaseId());
+    }
 
-        return Mono.just(responses);
+    private record StreamChunk(List<TroubleTicketResponse> items, KeysetCursor nextCursor) {
     }
 
     /**
      * Atualiza um caso existente
      */
-    @Transactional
     public Mono<TroubleTicketResponse> updateCase(String id, TroubleTicketUpdateRequest request) {
-        log.info("📝 Atualizando caso: {}", id);
+        return caseMetrics.timed(CaseMetrics.Operation.UPDATE, () -> {
+            log.info("📝 Atualizando caso: {}", id);
 
-        Case caseEntity = caseRepository.findByProtocol(id)
-                .orElseThrow(() -> new CaseNotFoundException("Caso não encontrado: " + id));
+            AtomicReference<Case> resolved = new AtomicReference<>();
+            AtomicReference<GenesysRoutingDispatcher.RoutingTask> escalation = new AtomicReference<>();
+            AtomicReference<SearchDocument> searchDocument = new AtomicReference<>();
+            AtomicReference<CustomerSummaryService.Change> summaryChange = new AtomicReference<>();
+            return persistence.write(tx -> {
+                Case caseEntity = caseRepository.findByProtocol(id)
+                        .orElseThrow(() -> new CaseNotFoundException("Caso não encontrado: " + id));
+                CasePriority previousPriority = caseEntity.getPriority();
 
-        // Aplicar atualizações
-        mapper.applyUpdate(caseEntity, request);
+                // Aplicar atualizações
+                mapper.applyUpdate(caseEntity, request);
 
-        // Adicionar novas notas
-        if (request.getNote() != null) {
-            for (TroubleTicketUpdateRequest.NoteDto noteDto : request.getNote()) {
-                CaseNote note = CaseNote.builder()
-                        .text(noteDto.getText())
-                        .author(noteDto.getAuthor())
-                        .build();
-                caseEntity.addNote(note);
-            }
-        }
+                // Adicionar novas notas
+                if (request.getNote() != null) {
+                    for (TroubleTicketUpdateRequest.NoteDto noteDto : request.getNote()) {
+                        CaseNote note = CaseNote.builder()
+                                .text(noteDto.getText())
+                                .author(noteDto.getAuthor())
+                                .build();
+                        caseEntity.addNote(note);
+                    }
+                }
 
-        // Verificar se foi resolvido
-        if (CaseStatus.RESOLVED.equals(caseEntity.getStatus()) && caseEntity.getResolvedAt() == null) {
-            caseEntity.setResolvedAt(Instant.now());
-        }
+                // Verificar se foi resolvido
+                if (CaseStatus.RESOLVED.equals(caseEntity.getStatus()) && caseEntity.getResolvedAt() == null) {
+                    caseEntity.setResolvedAt(Instant.now());
+                    resolved.set(caseEntity);
+                }
 
-        Case updatedCase = caseRepository.save(caseEntity);
+                // Pendência de roteamento gravada no mesmo UPDATE do escalonamento
+                boolean escalated = isEscalation(previousPriority, caseEntity);
+                if (escalated) {
+                    routingDispatcher.markPending(caseEntity);
+                }
 
-        // Sincronizar com Salesforce se tiver ID
-        if (updatedCase.getSalesforceCaseId() != null) {
-            return salesforceAdapter.updateCase(updatedCase.getSalesforceCaseId(), updatedCase)
-                    .thenReturn(mapper.toResponse(updatedCase))
-                    .onErrorResume(error -> {
-                        log.warn("⚠️ Erro ao sincronizar atualização com Salesforce: {}", error.getMessage());
-                        return Mono.just(mapper.toResponse(updatedCase));
-                    });
-        }
+                // Flush para o @PreUpdate preencher updatedAt antes de montar a resposta
+                Case updatedCase = caseRepository.saveAndFlush(caseEntity);
+
+                // Sincronizar com Salesforce via outbox
+                enqueueSalesforceSync(updatedCase, OutboxOperation.UPDATE);
+
+                searchDocument.set(SearchDocument.of(updatedCase));
 
-        return Mono.just(mapper.toResponse(updatedCase));
+                if (escalated) {
+                    escalation.set(GenesysRoutingDispatcher.RoutingTask.of(updatedCase, GenesysRoutingDispatcher.Reason.ESCALATED));
+                }
+
+                TroubleTicketResponse response = mapper.toResponse(updatedCase);
+                summaryChange.set(CustomerSummaryService.Change.of(updatedCase, response, false));
+                return response;
+            }).doOnSuccess(response -> {
+                ticketCache.invalidate(id);
+                searchService.index(searchDocument.get());
+                customerSummaries.apply(summaryChange.get());
+                if (escalation.get() != null) {
+                    routingDispatcher.submit(escalation.get());
+                }
+                // Só após o commit: uma transação desfeita não conta como resolução
+                if (resolved.get() != null) {
+                    caseMetrics.recordResolution(resolved.get());
+                }
+            });
+        });
     }
 
     /**
      * Deleta um caso (soft delete - muda status para CANCELLED)
      */
-    @Transactional
     public Mono<Void> deleteCase(String id) {
-        log.info("🗑️ Cancelando caso: {}", id);
+        return caseMetrics.timed(CaseMetrics.Operation.DELETE, () -> {
+            log.info("🗑️ Cancelando caso: {}", id);
 
-        Case caseEntity = caseRepository.findByProtocol(id)
-                .orElseThrow(() -> new CaseNotFoundException("Caso não encontrado: " + id));
+            AtomicReference<CustomerSummaryService.Change> summaryChange = new AtomicReference<>();
+            return persistence.write(tx -> {
+                Case caseEntity = caseRepository.findByProtocol(id)
+                        .orElseThrow(() -> new CaseNotFoundException("Caso não encontrado: " + id));
 
-        caseEntity.setStatus(CaseStatus.CANCELLED);
-        caseRepository.save(caseEntity);
+                caseEntity.setStatus(CaseStatus.CANCELLED);
+                caseRepository.saveAndFlush(caseEntity);
+                enqueueSalesforceSync(caseEntity, OutboxOperation.UPDATE);
+                if (caseEntity.getCustomerId() != null) {
+                    summaryChange.set(CustomerSummaryService.Change.of(caseEntity, mapper.toResponse(caseEntity), false));
+                }
+                return null;
+            }).doOnSuccess(v -> {
+                ticketCache.invalidate(id);
+                customerSummaries.apply(summaryChange.get());
+            }).then();
+        });
+    }
+
+    /**
+     * Escalado: prioridade elevada (CRITICAL é a mais alta) em um caso ainda em atendimento
+     */
+    private boolean isEscalation(CasePriority previousPriority, Case caseEntity) {
+        CasePriority priority = caseEntity.getPriority();
+        CaseStatus status = caseEntity.getStatus();
+        if (previousPriority == null || priority == null || priority.compareTo(previousPriority) >= 0) {
+            return false;
+        }
+        return status == null || status.isOpen();
+    }
 
-        return Mono.empty();
+    private void enqueueSalesforceSync(Case caseEntity, OutboxOperation operation) {
+        outboxRepository.save(OutboxEvent.pending(caseEntity.getCaseId(), operation));
     }
 
     /**
@@ -0,0 +1,211 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CaseStatus;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import com.vivo.crm.casemanagement.infrastructure.persistence.BlockingPersistenceExecutor;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.CustomerTicketSummaryResponse;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+import com.vivo.crm.casemanagement.interfaces.rest.mapper.TroubleTicketMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resumo pré-calculado dos tickets por cliente (customerId / relatedParty.id):
+ * total, abertos por status, última atualização e os N tickets atualizados mais recentemente
+ *
+ * O resumo é carregado do banco uma vez por cliente e depois mantido em memória pelas alterações
+ * feitas neste nó (criação, atualização, cancelamento), sem nova consulta. Alterações vindas do
+ * Salesforce invalidam o resumo; alterações feitas em outros nós aparecem após o TTL.
+ */
+@Service
+@Slf4j
+public class CustomerSummaryService {
+
+    private static final Set<CaseStatus> OPEN_STATUSES = EnumSet.copyOf(
+            Arrays.stream(CaseStatus.values()).filter(CaseStatus::isOpen).toList());
+    private static final Comparator<TroubleTicketResponse> MOST_RECENT_FIRST = Comparator.comparing(
+            TroubleTicketResponse::getLastUpdate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final CaseRepository caseRepository;
+    private final TroubleTicketMapper mapper;
+    private final BlockingPersistenceExecutor persistence;
+    private final CaseMetrics caseMetrics;
+    private final boolean enabled;
+    private final int latestSize;
+    private final Cache<String, Summary> summaries;
+
+    public CustomerSummaryService(
+            CaseRepository caseRepository,
+            TroubleTicketMapper mapper,
+            BlockingPersistenceExecutor persistence,
+            CaseMetrics caseMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${cache.customer-summary.enabled:true}") boolean enabled,
+            @Value("${cache.customer-summary.max-size:100000}") long maxSize,
+            @Value("${cache.customer-summary.ttl:10m}") Duration ttl,
+            @Value("${cache.customer-summary.latest-size:10}") int latestSize) {
+        this.caseRepository = caseRepository;
+        this.mapper = mapper;
+        this.persistence = persistence;
+        this.caseMetrics = caseMetrics;
+        this.enabled = enabled;
+        this.latestSize = latestSize;
+
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "customers.summary");
+
+        log.info("🗄️ Resumo por cliente: enabled={}, maxSize={}, ttl={}, latestSize={}", enabled, maxSize, ttl, latestSize);
+    }
+
+    public Mono<CustomerTicketSummaryResponse> summary(String customerId) {
+        return caseMetrics.timed(CaseMetrics.Operation.CUSTOMER_SUMMARY, () -> {
+            log.info("👤 Resumo de tickets do cliente: {}", customerId);
+            return get(customerId).map(Summary::toResponse);
+        });
+    }
+
+    /**
+     * Aplica uma alteração já confirmada (após o commit) ao resumo do cliente, se ele estiver em memória
+     */
+    public void apply(Change change) {
+        if (!enabled || change == null || change.customerId() == null) {
+            return;
+        }
+        summaries.asMap().computeIfPresent(change.customerId(), (customerId, summary) -> summary.apply(change, latestSize));
+    }
+
+    public void applyAll(Collection<Change> changes) {
+        changes.forEach(this::apply);
+    }
+
+    public void invalidateAll(Collection<String> customerIds) {
+        if (enabled) {
+            summaries.invalidateAll(customerIds);
+        }
+    }
+
+    private Mono<Summary> get(String customerId) {
+        if (!enabled) {
+            return persistence.read(tx -> load(customerId));
+        }
+        Summary cached = summaries.getIfPresent(customerId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        // A carga roda dentro do compute do Caffeine: um apply concorrente do mesmo cliente espera por ela
+        return persistence.read(tx -> summaries.get(customerId, this::load));
+    }
+
+    private Summary load(String customerId) {
+        long total = caseRepository.countByCustomerId(customerId);
+        Map<String, CaseStatus> openCases = new HashMap<>();
+        caseRepository.findStatusByCustomerIdAndStatusIn(customerId, OPEN_STATUSES)
+                .forEach(ref -> openCases.put(ref.getCaseId(), ref.getStatus()));
+        List<TroubleTicketResponse> latest = caseRepository
+                .findByCustomerIdOrderByUpdatedAtDesc(customerId, Limit.of(latestSize)).stream()
+                .map(mapper::toResponse)
+                .toList();
+        return new Summary(customerId, total, Map.copyOf(openCases),
+                latest.isEmpty() ? null : latest.get(0).getLastUpdate(), latest);
+    }
+
+    /**
+     * Alteração de um caso, montada dentro da transação e aplicada após o commit
+     */
+    public record Change(String customerId, String caseId, CaseStatus status, TroubleTicketResponse ticket,
+                         boolean created) {
+
+        public static Change of(Case caseEntity, TroubleTicketResponse ticket, boolean created) {
+            return new Change(caseEntity.getCustomerId(), caseEntity.getCaseId(), caseEntity.getStatus(), ticket, created);
+        }
+    }
+
+    /**
+     * Estado imutável do resumo; cada alteração gera uma nova instância
+     * openCases guarda o status de cada caso aberto, o que torna apply idempotente:
+     * um caso lido pela carga e depois aplicado não é contado duas vezes
+     */
+    record Summary(String customerId, long totalCount, Map<String, CaseStatus> openCases, Instant lastUpdate,
+                   List<TroubleTicketResponse> latest) {
+
+        Summary apply(Change change, int latestSize) {
+            TroubleTicketResponse ticket = change.ticket();
+            TroubleTicketResponse current = latest.stream()
+                    .filter(existing -> Objects.equals(existing.getId(), ticket.getId()))
+                    .findFirst()
+                    .orElse(null);
+            if (current != null && current.getLastUpdate() != null && ticket.getLastUpdate() != null
+                    && current.getLastUpdate().isAfter(ticket.getLastUpdate())) {
+                // Alteração mais antiga aplicada fora de ordem
+                return this;
+            }
+
+            boolean known = current != null || openCases.containsKey(change.caseId());
+            long total = change.created() && !known ? totalCount + 1 : totalCount;
+
+            Map<String, CaseStatus> open = new HashMap<>(openCases);
+            if (change.status() != null && change.status().isOpen()) {
+                open.put(change.caseId(), change.status());
+            } else {
+                open.remove(change.caseId());
+            }
+
+            List<TroubleTicketResponse> tickets = new ArrayList<>(latest.size() + 1);
+            tickets.add(ticket);
+            latest.stream()
+                    .filter(existing -> !Objects.equals(existing.getId(), ticket.getId()))
+                    .forEach(tickets::add);
+            tickets.sort(MOST_RECENT_FIRST);
+
+            Instant updated = lastUpdate == null || (ticket.getLastUpdate() != null && ticket.getLastUpdate().isAfter(lastUpdate))
+                    ? ticket.getLastUpdate()
+                    : lastUpdate;
+            return new Summary(customerId, total, Map.copyOf(open), updated,
+                    List.copyOf(tickets.subList(0, Math.min(latestSize, tickets.size()))));
+        }
+
+        CustomerTicketSummaryResponse toResponse() {
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            for (CaseStatus status : OPEN_STATUSES) {
+                long count = openCases.values().stream().filter(status::equals).count();
+                if (count > 0) {
+                    byStatus.put(status.getTmfValue(), count);
+                }
+            }
+            return CustomerTicketSummaryResponse.builder()
+                    .relatedPartyId(customerId)
+                    .totalCount(totalCount)
+                    .openCount(openCases.size())
+                    .openCountByStatus(byStatus)
+                    .lastUpdate(lastUpdate)
+                    .latestTickets(latest)
+                    .build();
+        }
+    }
+}
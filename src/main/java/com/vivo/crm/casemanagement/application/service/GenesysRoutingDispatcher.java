@@ -0,0 +1,307 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CasePriority;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import com.vivo.crm.casemanagement.infrastructure.adapter.genesys.GenesysAdapter;
+import com.vivo.crm.casemanagement.infrastructure.adapter.genesys.GenesysDto;
+import com.vivo.crm.casemanagement.infrastructure.persistence.BlockingPersistenceExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Roteia casos novos e escalados para as filas do Genesys fora do caminho da requisição
+ *
+ * O CaseService só enfileira o caso após o commit (submit não bloqueia nem faz I/O).
+ * A fila em memória é drenada em micro-lotes (batch-size casos ou max-delay, o que vier primeiro):
+ * - as chamadas de um lote vão em paralelo (concurrency), pelo pool e bulkhead próprios do Genesys
+ * - o resultado do lote é gravado em uma única transação (fila e conversa no caso)
+ * - até pipeline-depth lotes em andamento: o próximo lote chama o Genesys enquanto o anterior grava
+ *
+ * A pendência é durável: o caso é gravado com routing_next_attempt_at (markPending) e só é liberado
+ * quando o Genesys confirma. Uma chamada que falha reagenda o caso com backoff exponencial; fila cheia
+ * (genesys.routing.requests{result=dropped}), erro ao gravar o lote ou desligamento do nó deixam a
+ * pendência no banco, e o GenesysRoutingReconciler reenfileira o caso quando ela vence (at-least-once,
+ * como o outbox do Salesforce: uma confirmação perdida pode gerar uma segunda conversa).
+ */
+@Component
+@Slf4j
+public class GenesysRoutingDispatcher {
+
+    public enum Reason {
+        CREATED, ESCALATED
+    }
+
+    /**
+     * Dados do caso necessários ao roteamento, copiados dentro da transação
+     */
+    public record RoutingTask(String caseId, String protocol, String ticketType, CasePriority priority,
+                              String customerSegment, Reason reason, int attempts, long enqueuedAt) {
+
+        public static RoutingTask of(Case caseEntity, Reason reason) {
+            return new RoutingTask(caseEntity.getCaseId(), caseEntity.getProtocol(), caseEntity.getTicketType(),
+                    caseEntity.getPriority(), GenesysRoutingPolicy.segmentOf(caseEntity), reason,
+                    caseEntity.getRoutingAttempts() != null ? caseEntity.getRoutingAttempts() : 0, System.nanoTime());
+        }
+
+        /**
+         * A mesma tarefa após uma tentativa reagendada com scheduleRetry
+         */
+        public RoutingTask nextAttempt() {
+            return new RoutingTask(caseId, protocol, ticketType, priority, customerSegment, reason, attempts + 1, enqueuedAt);
+        }
+    }
+
+    /**
+     * Resultado de uma chamada; routed=false reagenda o caso com backoff
+     */
+    private record RoutingResult(RoutingTask task, String queue, String conversationId, boolean routed) {
+    }
+
+    private final GenesysAdapter genesysAdapter;
+    private final GenesysRoutingPolicy routingPolicy;
+    private final CaseRepository caseRepository;
+    private final BlockingPersistenceExecutor persistence;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final int concurrency;
+    private final int pipelineDepth;
+    private final Duration grace;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Sinks.Many<RoutingTask> sink;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter routedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer routingLatency;
+
+    private Disposable subscription;
+
+    public GenesysRoutingDispatcher(
+            GenesysAdapter genesysAdapter,
+            GenesysRoutingPolicy routingPolicy,
+            CaseRepository caseRepository,
+            BlockingPersistenceExecutor persistence,
+            MeterRegistry meterRegistry,
+            @Value("${adapters.genesys.routing.enabled:true}") boolean enabled,
+            @Value("${adapters.genesys.routing.queue-capacity:10000}") int queueCapacity,
+            @Value("${adapters.genesys.routing.batch-size:50}") int batchSize,
+            @Value("${adapters.genesys.routing.max-delay:50ms}") Duration maxDelay,
+            @Value("${adapters.genesys.routing.concurrency:16}") int concurrency,
+            @Value("${adapters.genesys.routing.pipeline-depth:2}") int pipelineDepth,
+            @Value("${adapters.genesys.routing.retry.grace:1m}") Duration grace,
+            @Value("${adapters.genesys.routing.retry.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${adapters.genesys.routing.retry.max-backoff:10m}") Duration maxBackoff) {
+        this.genesysAdapter = genesysAdapter;
+        this.routingPolicy = routingPolicy;
+        this.caseRepository = caseRepository;
+        this.persistence = persistence;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.concurrency = concurrency;
+        this.pipelineDepth = pipelineDepth;
+        this.grace = grace;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        // Fila limitada: tryEmitNext devolve FAIL_OVERFLOW quando cheia, sem bloquear quem enfileira
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<RoutingTask>get(queueCapacity).get());
+
+        Gauge.builder("genesys.routing.queue", queued, AtomicInteger::get)
+                .description("Casos aguardando roteamento no Genesys")
+                .register(meterRegistry);
+        this.routedCounter = Counter.builder("genesys.routing.requests").tag("result", "routed").register(meterRegistry);
+        this.failedCounter = Counter.builder("genesys.routing.requests").tag("result", "failed").register(meterRegistry);
+        this.droppedCounter = Counter.builder("genesys.routing.requests").tag("result", "dropped").register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("genesys.routing.batch.size")
+                .description("Casos por micro-lote de roteamento")
+                .register(meterRegistry);
+        this.routingLatency = Timer.builder("genesys.routing.latency")
+                .description("Tempo entre o enfileiramento do caso e a confirmação do Genesys")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("🧭 Roteamento Genesys desabilitado");
+            return;
+        }
+        log.info("🧭 Roteamento Genesys: batchSize={}, maxDelay={}, concurrency={}, pipelineDepth={}",
+                batchSize, maxDelay, concurrency, pipelineDepth);
+
+        subscription = sink.asFlux()
+                .bufferTimeout(batchSize, maxDelay, true)
+                .flatMap(this::routeBatch, pipelineDepth)
+                .subscribe(null, error -> log.error("❌ Roteamento Genesys interrompido: {}", error.getMessage()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        sink.tryEmitComplete();
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        int pending = queued.get();
+        if (pending > 0) {
+            log.warn("⚠️ {} casos não roteados no Genesys no desligamento: seguem pendentes para o reconciliador", pending);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra no caso a pendência de roteamento, antes do save/commit que cria ou escala o caso
+     * A pendência vence após grace: até lá a fila em memória (ou o fan-out) roteia o caso
+     */
+    public void markPending(Case caseEntity) {
+        if (!enabled) {
+            return;
+        }
+        caseEntity.setRoutingNextAttemptAt(Instant.now().plus(grace));
+        caseEntity.setRoutingAttempts(0);
+    }
+
+    /**
+     * Enfileira o roteamento de um caso; deve ser chamado após o commit
+     */
+    public void submit(RoutingTask task) {
+        if (!enabled) {
+            return;
+        }
+        queued.incrementAndGet();
+        Sinks.EmitResult result;
+        // FAIL_NON_SERIALIZED: outra thread emitindo ao mesmo tempo, a disputa dura poucos ciclos
+        while ((result = sink.tryEmitNext(task)) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            Thread.onSpinWait();
+        }
+        if (result.isFailure()) {
+            queued.decrementAndGet();
+            droppedCounter.increment();
+            log.warn("⚠️ Roteamento Genesys descartado ({}), fica para o reconciliador: protocol={}", result, task.protocol());
+        }
+    }
+
+    public void submitAll(List<RoutingTask> tasks) {
+        tasks.forEach(this::submit);
+    }
+
+    /**
+     * Roteia um caso na hora, fora da fila (fan-out da criação com Prefer: wait)
+     * Devolve a fila gravada no caso; em erro quem chamou reagenda o caso com scheduleRetry
+     */
+    public Mono<String> routeNow(RoutingTask task) {
+        String queue = routingPolicy.queueFor(task.ticketType(), task.priority(), task.customerSegment());
+        return genesysAdapter.routeConversation(request(task, queue))
+                .flatMap(response -> persistence.write(tx ->
+                        caseRepository.updateRouting(task.caseId(), queue, response.getId())))
+                .doOnNext(updated -> {
+                    routedCounter.increment();
+                    routingLatency.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+                })
+                .thenReturn(queue);
+    }
+
+    /**
+     * Reagenda o roteamento de um caso que falhou, com backoff pelo número de tentativas
+     */
+    public Mono<Void> scheduleRetry(RoutingTask task) {
+        return persistence.write(tx -> caseRepository.scheduleRoutingRetry(
+                task.caseId(), task.attempts() + 1, Instant.now().plus(backoff(task.attempts())))).then();
+    }
+
+    /**
+     * initial-backoff x 2^tentativas, limitado a max-backoff
+     */
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private Mono<Void> routeBatch(List<RoutingTask> batch) {
+        batchSizeSummary.record(batch.size());
+        return Flux.fromIterable(batch)
+                .flatMap(this::route, concurrency)
+                .collectList()
+                .flatMap(this::saveResults)
+                .onErrorResume(error -> {
+                    // Os casos continuam pendentes no banco: o reconciliador os reenfileira quando vencerem
+                    log.error("❌ Erro ao gravar roteamento de {} casos: {}", batch.size(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<RoutingResult> route(RoutingTask task) {
+        String queue = routingPolicy.queueFor(task.ticketType(), task.priority(), task.customerSegment());
+
+        return genesysAdapter.routeConversation(request(task, queue))
+                .map(response -> new RoutingResult(task, queue, response.getId(), true))
+                .doOnNext(result -> {
+                    routedCounter.increment();
+                    routingLatency.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+                })
+                .onErrorResume(error -> {
+                    failedCounter.increment();
+                    log.warn("⚠️ Caso {} não roteado para {} (tentativa {}), reagendado: {}",
+                            task.protocol(), queue, task.attempts() + 1, error.getMessage());
+                    return Mono.just(new RoutingResult(task, queue, null, false));
+                })
+                .doFinally(signal -> queued.decrementAndGet());
+    }
+
+    private GenesysDto.RoutingRequest request(RoutingTask task, String queue) {
+        return GenesysDto.RoutingRequest.builder()
+                .queueId(queue)
+                .priority(routingPolicy.priorityOf(task.priority()))
+                .externalReference(task.protocol())
+                .attributes(Map.of("caseId", task.caseId(), "reason", task.reason().name()))
+                .build();
+    }
+
+    private Mono<Void> saveResults(List<RoutingResult> results) {
+        if (results.isEmpty()) {
+            return Mono.empty();
+        }
+        Instant now = Instant.now();
+        return persistence.write(tx -> {
+            for (RoutingResult result : results) {
+                RoutingTask task = result.task();
+                if (result.routed()) {
+                    caseRepository.updateRouting(task.caseId(), result.queue(), result.conversationId());
+                } else {
+                    caseRepository.scheduleRoutingRetry(task.caseId(), task.attempts() + 1, now.plus(backoff(task.attempts())));
+                }
+            }
+            return null;
+        }).then();
+    }
+}
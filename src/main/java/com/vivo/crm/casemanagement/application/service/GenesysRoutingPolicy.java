@@ -0,0 +1,95 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CasePriority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Política de roteamento dos casos para as filas do Genesys (adapters.genesys.routing.*)
+ *
+ * As regras são avaliadas na ordem configurada e a primeira que casar define a fila;
+ * sem regra aplicável o caso vai para default-queue. Em cada regra, critérios omitidos
+ * aceitam qualquer valor e a comparação ignora maiúsculas/minúsculas.
+ */
+@Component
+@Slf4j
+public class GenesysRoutingPolicy {
+
+    /**
+     * Característica usada quando o caso não tem customerSegment preenchido
+     */
+    static final String SEGMENT_CHARACTERISTIC = "customerSegment";
+
+    private final String defaultQueue;
+    private final List<Rule> rules;
+
+    public GenesysRoutingPolicy(
+            Environment environment,
+            @Value("${adapters.genesys.routing.default-queue:queue-atendimento-n1}") String defaultQueue) {
+        this.defaultQueue = defaultQueue;
+        this.rules = Binder.get(environment)
+                .bind("adapters.genesys.routing.rules", Bindable.listOf(Rule.class))
+                .orElse(List.of());
+
+        log.info("🧭 Roteamento Genesys: {} regras, fila padrão={}", rules.size(), defaultQueue);
+    }
+
+    /**
+     * Fila de destino para o caso
+     */
+    public String queueFor(String ticketType, CasePriority priority, String customerSegment) {
+        for (Rule rule : rules) {
+            if (rule.matches(ticketType, priority, customerSegment)) {
+                return rule.queue();
+            }
+        }
+        return defaultQueue;
+    }
+
+    /**
+     * Prioridade de atendimento no Genesys (maior valor é atendido primeiro)
+     */
+    public int priorityOf(CasePriority priority) {
+        if (priority == null) {
+            return 20;
+        }
+        return switch (priority) {
+            case CRITICAL -> 40;
+            case HIGH -> 30;
+            case MEDIUM -> 20;
+            case LOW -> 10;
+        };
+    }
+
+    static String segmentOf(Case caseEntity) {
+        if (caseEntity.getCustomerSegment() != null) {
+            return caseEntity.getCustomerSegment();
+        }
+        return caseEntity.getTicketCharacteristics() != null
+                ? caseEntity.getTicketCharacteristics().get(SEGMENT_CHARACTERISTIC)
+                : null;
+    }
+
+    /**
+     * Regra de roteamento; priority usa o valor TMF621 (critical, high, medium, low)
+     */
+    public record Rule(String ticketType, String priority, String customerSegment, String queue) {
+
+        boolean matches(String ticketType, CasePriority priority, String customerSegment) {
+            return accepts(this.ticketType, ticketType)
+                    && accepts(this.priority, priority != null ? priority.getTmfValue() : null)
+                    && accepts(this.customerSegment, customerSegment);
+        }
+
+        private static boolean accepts(String expected, String actual) {
+            return expected == null || expected.equalsIgnoreCase(actual);
+        }
+    }
+}
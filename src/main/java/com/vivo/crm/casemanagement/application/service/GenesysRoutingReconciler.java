@@ -0,0 +1,118 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CaseStatus;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reenfileira os roteamentos do Genesys que ficaram pendentes
+ *
+ * A cada ciclo busca os casos abertos com routing_next_attempt_at vencido: falhas reagendadas com backoff,
+ * casos descartados com a fila em memória cheia, lotes que não foram gravados ou casos que estavam na fila
+ * de um nó desligado. Os casos são reservados por lease (outra instância não os reenfileira antes disso)
+ * e entregues ao GenesysRoutingDispatcher; sucesso limpa a pendência, falha a reagenda.
+ */
+@Component
+@Slf4j
+public class GenesysRoutingReconciler {
+
+    private static final Set<CaseStatus> OPEN_STATUSES = EnumSet.copyOf(
+            Arrays.stream(CaseStatus.values()).filter(CaseStatus::isOpen).toList());
+
+    private final CaseRepository caseRepository;
+    private final GenesysRoutingDispatcher routingDispatcher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration lease;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter requeued;
+
+    public GenesysRoutingReconciler(
+            CaseRepository caseRepository,
+            GenesysRoutingDispatcher routingDispatcher,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${adapters.genesys.routing.retry.enabled:true}") boolean enabled,
+            @Value("${adapters.genesys.routing.retry.batch-size:500}") int batchSize,
+            @Value("${adapters.genesys.routing.retry.lease:2m}") Duration lease) {
+        this.caseRepository = caseRepository;
+        this.routingDispatcher = routingDispatcher;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lease = lease;
+
+        Gauge.builder("genesys.routing.pending", backlog, AtomicLong::get)
+                .description("Casos abertos com roteamento no Genesys ainda não confirmado")
+                .register(meterRegistry);
+        this.requeued = Counter.builder("genesys.routing.reconciliation.requeued")
+                .description("Casos reenfileirados pelo reconciliador de roteamento")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${adapters.genesys.routing.retry.interval-ms:30000}",
+               initialDelayString = "${adapters.genesys.routing.retry.interval-ms:30000}")
+    public void reconcile() {
+        if (!enabled || !routingDispatcher.isEnabled()) {
+            return;
+        }
+        try {
+            List<GenesysRoutingDispatcher.RoutingTask> tasks = transactionTemplate.execute(status -> claim());
+            if (tasks != null && !tasks.isEmpty()) {
+                // Após o commit da reserva; fila cheia descarta e o caso volta quando o lease vencer
+                routingDispatcher.submitAll(tasks);
+                requeued.increment(tasks.size());
+                log.info("🔁 Reconciliação do roteamento Genesys: {} casos reenfileirados", tasks.size());
+            }
+        } catch (Exception e) {
+            log.error("❌ Erro na reconciliação do roteamento Genesys: {}", e.getMessage());
+        } finally {
+            refreshBacklog();
+        }
+    }
+
+    private List<GenesysRoutingDispatcher.RoutingTask> claim() {
+        Instant now = Instant.now();
+        List<Case> due = caseRepository.findRoutingDue(now, OPEN_STATUSES, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        // Sem fila gravada o caso nunca foi roteado; com fila, o pendente é um escalonamento
+        List<GenesysRoutingDispatcher.RoutingTask> tasks = due.stream()
+                .map(caseEntity -> GenesysRoutingDispatcher.RoutingTask.of(caseEntity, caseEntity.getRoutingQueue() == null
+                        ? GenesysRoutingDispatcher.Reason.CREATED
+                        : GenesysRoutingDispatcher.Reason.ESCALATED))
+                .toList();
+        caseRepository.claimRouting(tasks.stream().map(GenesysRoutingDispatcher.RoutingTask::caseId).toList(),
+                now.plus(lease));
+        return tasks;
+    }
+
+    private void refreshBacklog() {
+        try {
+            backlog.set(caseRepository.countByRoutingNextAttemptAtIsNotNullAndStatusIn(OPEN_STATUSES));
+        } catch (Exception e) {
+            log.debug("Não foi possível atualizar métricas de roteamento pendente: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Cursor opaco de paginação por keyset sobre (createdAt, caseId)
+ */
+public record KeysetCursor(Instant createdAt, String caseId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + caseId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(Instant.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Cursor inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CasePriority;
+import com.vivo.crm.casemanagement.domain.model.CaseStatus;
+import com.vivo.crm.casemanagement.domain.model.InvalidEnumValueException;
+import com.vivo.crm.casemanagement.domain.model.OutboxStatus;
+import com.vivo.crm.casemanagement.domain.model.SyncCheckpoint;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import com.vivo.crm.casemanagement.domain.repository.OutboxEventRepository;
+import com.vivo.crm.casemanagement.domain.repository.SyncCheckpointRepository;
+import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceAdapter;
+import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceDto;
+import com.vivo.crm.casemanagement.infrastructure.cache.TicketCache;
+import com.vivo.crm.casemanagement.infrastructure.search.SearchDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ingestão das alterações feitas no Salesforce (ex.: status alterado por um agente) para a tabela de casos
+ *
+ * Consulta incremental por SystemModstamp a partir de um high-watermark (SyncCheckpoint) gravado
+ * na mesma transação das alterações; cada lote aplica até batchSize casos com batch update.
+ *
+ * Conflitos:
+ * - caso com alteração local ainda no outbox: a versão local vence e será enviada ao Salesforce
+ * - caso alterado localmente depois da alteração remota: a alteração remota é ignorada (obsoleta)
+ * - atualização concorrente pela API (@Version): o lote é reprocessado com o estado atual
+ */
+@Component
+@Slf4j
+public class SalesforceChangeIngestor {
+
+    static final String CHECKPOINT_NAME = "salesforce-case-changes";
+    private static final String SALESFORCE_USER = "salesforce";
+    private static final DateTimeFormatter SALESFORCE_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXX");
+    private static final int MAX_CONFLICT_RETRIES = 3;
+
+    private final SalesforceAdapter salesforceAdapter;
+    private final CaseRepository caseRepository;
+    private final OutboxEventRepository outboxRepository;
+    private final SyncCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketCache ticketCache;
+    private final CaseMetrics caseMetrics;
+    private final CaseSearchService searchService;
+    private final CustomerSummaryService customerSummaries;
+
+    private final boolean enabled;
+    private final int pageSize;
+    private final int batchSize;
+    private final int maxPagesPerPoll;
+    private final Duration initialLookback;
+    private final Duration requestTimeout;
+
+    private final AtomicReference<Instant> lastSuccessfulPoll = new AtomicReference<>(Instant.now());
+    private final Counter appliedCounter;
+    private final Counter unchangedCounter;
+    private final Counter conflictCounter;
+    private final Counter staleCounter;
+    private final Counter unmatchedCounter;
+    private final Timer batchTimer;
+
+    public SalesforceChangeIngestor(
+            SalesforceAdapter salesforceAdapter,
+            CaseRepository caseRepository,
+            OutboxEventRepository outboxRepository,
+            SyncCheckpointRepository checkpointRepository,
+            TransactionTemplate transactionTemplate,
+            TicketCache ticketCache,
+            CaseMetrics caseMetrics,
+            CaseSearchService searchService,
+            CustomerSummaryService customerSummaries,
+            MeterRegistry meterRegistry,
+            @Value("${adapters.salesforce.inbound.enabled:true}") boolean enabled,
+            @Value("${adapters.salesforce.inbound.page-size:2000}") int pageSize,
+            @Value("${adapters.salesforce.inbound.batch-size:500}") int batchSize,
+            @Value("${adapters.salesforce.inbound.max-pages-per-poll:10}") int maxPagesPerPoll,
+            @Value("${adapters.salesforce.inbound.initial-lookback:1h}") Duration initialLookback,
+            @Value("${adapters.salesforce.timeout:30s}") Duration requestTimeout) {
+        this.salesforceAdapter = salesforceAdapter;
+        this.caseRepository = caseRepository;
+        this.outboxRepository = outboxRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ticketCache = ticketCache;
+        this.caseMetrics = caseMetrics;
+        this.searchService = searchService;
+        this.customerSummaries = customerSummaries;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+        this.maxPagesPerPoll = maxPagesPerPoll;
+        this.initialLookback = initialLookback;
+        this.requestTimeout = requestTimeout;
+
+        TimeGauge.builder("salesforce.inbound.staleness", lastSuccessfulPoll, TimeUnit.MILLISECONDS,
+                        last -> Duration.between(last.get(), Instant.now()).toMillis())
+                .description("Tempo desde a última consulta bem-sucedida de alterações no Salesforce")
+                .register(meterRegistry);
+        this.appliedCounter = Counter.builder("salesforce.inbound.changes").tag("result", "applied").register(meterRegistry);
+        this.unchangedCounter = Counter.builder("salesforce.inbound.changes").tag("result", "unchanged").register(meterRegistry);
+        this.conflictCounter = Counter.builder("salesforce.inbound.changes").tag("result", "conflict").register(meterRegistry);
+        this.staleCounter = Counter.builder("salesforce.inbound.changes").tag("result", "stale").register(meterRegistry);
+        this.unmatchedCounter = Counter.builder("salesforce.inbound.changes").tag("result", "unmatched").register(meterRegistry);
+        this.batchTimer = Timer.builder("salesforce.inbound.batch")
+                .description("Tempo para aplicar um lote de alterações do Salesforce")
+                .register(meterRegistry);
+
+        log.info("📥 Ingestão de alterações do Salesforce: enabled={}, pageSize={}, batchSize={}",
+                enabled, pageSize, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${adapters.salesforce.inbound.poll-interval-ms:5000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Watermark watermark = loadWatermark();
+            SalesforceDto.QueryResponse<SalesforceDto.CaseChange> page = salesforceAdapter
+                    .queryCaseChanges(watermark.modstamp(), watermark.recordId(), pageSize)
+                    .block(requestTimeout);
+
+            int pages = 0;
+            int total = 0;
+            while (page != null && page.getRecords() != null) {
+                List<Change> changes = newerThan(page.getRecords(), watermark);
+                for (int from = 0; from < changes.size(); from += batchSize) {
+                    watermark = applyWithRetry(changes.subList(from, Math.min(from + batchSize, changes.size())));
+                }
+                total += changes.size();
+
+                if (page.isDone() || page.getNextRecordsUrl() == null || ++pages >= maxPagesPerPoll) {
+                    break;
+                }
+                page = salesforceAdapter.queryMoreCaseChanges(page.getNextRecordsUrl()).block(requestTimeout);
+            }
+
+            lastSuccessfulPoll.set(Instant.now());
+            if (total > 0) {
+                log.info("📥 Alterações do Salesforce processadas: {} registros, watermark={}", total, watermark.modstamp());
+            }
+        } catch (Exception e) {
+            log.error("❌ Erro ao ingerir alterações do Salesforce: {}", e.getMessage());
+        }
+    }
+
+    private Watermark loadWatermark() {
+        return checkpointRepository.findById(CHECKPOINT_NAME)
+                .map(checkpoint -> new Watermark(checkpoint.getWatermark(), checkpoint.getLastRecordId()))
+                .orElseGet(() -> new Watermark(Instant.now().minus(initialLookback), null));
+    }
+
+    /**
+     * Converte e descarta registros já aplicados (a consulta pode repetir registros do checkpoint)
+     */
+    private List<Change> newerThan(List<SalesforceDto.CaseChange> records, Watermark watermark) {
+        List<Change> changes = new ArrayList<>(records.size());
+        for (SalesforceDto.CaseChange record : records) {
+            Instant modstamp;
+            try {
+                modstamp = Instant.from(SALESFORCE_DATETIME.parse(record.getSystemModstamp()));
+            } catch (DateTimeParseException | NullPointerException e) {
+                log.warn("⚠️ SystemModstamp inválido ignorado: id={}, valor={}", record.getId(), record.getSystemModstamp());
+                continue;
+            }
+            Watermark position = new Watermark(modstamp, record.getId());
+            if (position.isAfter(watermark)) {
+                changes.add(new Change(record, position));
+            }
+        }
+        // O checkpoint é o último registro do lote: garante a ordem mesmo se a página vier desordenada
+        changes.sort(Comparator.comparing((Change change) -> change.position().modstamp())
+                .thenComparing(change -> change.position().recordId()));
+        return changes;
+    }
+
+    private Watermark applyWithRetry(List<Change> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return batchTimer.record(() -> applyBatch(batch));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= MAX_CONFLICT_RETRIES) {
+                    throw e;
+                }
+                log.warn("⚠️ Conflito de versão ao aplicar alterações do Salesforce, reprocessando lote (tentativa {}): {}",
+                        attempt, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Aplica um lote e avança o checkpoint na mesma transação
+     */
+    private Watermark applyBatch(List<Change> batch) {
+        Set<String> changedProtocols = new HashSet<>();
+        Set<String> changedCustomers = new HashSet<>();
+        List<Case> resolved = new ArrayList<>();
+        List<Case> textChanged = new ArrayList<>();
+        List<SearchDocument> searchDocuments = new ArrayList<>();
+
+        Watermark watermark = transactionTemplate.execute(status -> {
+            Map<String, Case> cases = caseRepository.findBySalesforceCaseIdIn(batch.stream()
+                            .map(change -> change.record().getId())
+                            .collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(Case::getSalesforceCaseId, Function.identity()));
+
+            Set<String> pendingLocal = cases.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(outboxRepository.findCaseIdsWithStatus(OutboxStatus.PENDING,
+                            cases.values().stream().map(Case::getCaseId).toList()));
+
+            for (Change change : batch) {
+                Case caseEntity = cases.get(change.record().getId());
+                if (caseEntity == null) {
+                    unmatchedCounter.increment();
+                } else if (pendingLocal.contains(caseEntity.getCaseId())) {
+                    conflictCounter.increment();
+                    log.info("🔀 Alteração do Salesforce ignorada, há alteração local pendente: caseId={}, sfId={}",
+                            caseEntity.getCaseId(), change.record().getId());
+                } else if (caseEntity.getUpdatedAt() != null
+                        && caseEntity.getUpdatedAt().isAfter(change.position().modstamp())) {
+                    staleCounter.increment();
+                } else if (applyChange(caseEntity, change, resolved, textChanged)) {
+                    appliedCounter.increment();
+                    changedProtocols.add(caseEntity.getProtocol());
+                    if (caseEntity.getCustomerId() != null) {
+                        changedCustomers.add(caseEntity.getCustomerId());
+                    }
+                } else {
+                    unchangedCounter.increment();
+                }
+            }
+
+            Watermark last = batch.get(batch.size() - 1).position();
+            SyncCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                    .orElseGet(() -> SyncCheckpoint.builder().name(CHECKPOINT_NAME).build());
+            checkpoint.setWatermark(last.modstamp());
+            checkpoint.setLastRecordId(last.recordId());
+            checkpointRepository.save(checkpoint);
+            // Notas são lazy: o documento de busca é montado ainda dentro da transação
+            textChanged.forEach(caseEntity -> searchDocuments.add(SearchDocument.of(caseEntity)));
+            return last;
+        });
+
+        changedProtocols.forEach(ticketCache::invalidate);
+        // O resumo do cliente é recarregado na próxima leitura (o lote não monta as respostas dos casos)
+        customerSummaries.invalidateAll(changedCustomers);
+        resolved.forEach(caseMetrics::recordResolution);
+        searchService.indexAll(searchDocuments);
+        return Objects.requireNonNull(watermark);
+    }
+
+    /**
+     * Copia para o caso apenas os campos que mudaram, evitando incrementar a versão sem necessidade
+     */
+    private boolean applyChange(Case caseEntity, Change change, List<Case> resolved, List<Case> textChanged) {
+        SalesforceDto.CaseChange record = change.record();
+        boolean changed = false;
+
+        CaseStatus status = decode(record.getStatus(), CaseStatus::fromSalesforceValue, record);
+        if (status != null && status != caseEntity.getStatus()) {
+            caseEntity.setStatus(status);
+            if ((status == CaseStatus.RESOLVED || status == CaseStatus.CLOSED) && caseEntity.getResolvedAt() == null) {
+                caseEntity.setResolvedAt(change.position().modstamp());
+                caseEntity.setResolvedBy(SALESFORCE_USER);
+                resolved.add(caseEntity);
+            }
+            changed = true;
+        }
+
+        CasePriority priority = decode(record.getPriority(), CasePriority::fromSalesforceValue, record);
+        if (priority != null && priority != caseEntity.getPriority()) {
+            caseEntity.setPriority(priority);
+            changed = true;
+        }
+
+        boolean textChange = false;
+        if (record.getSubject() != null && !record.getSubject().equals(caseEntity.getSubject())) {
+            caseEntity.setSubject(record.getSubject());
+            textChange = true;
+        }
+        if (record.getDescription() != null && !record.getDescription().equals(caseEntity.getDescription())) {
+            caseEntity.setDescription(record.getDescription());
+            textChange = true;
+        }
+        if (textChange) {
+            textChanged.add(caseEntity);
+            changed = true;
+        }
+        if (record.getCaseNumber() != null && !record.getCaseNumber().equals(caseEntity.getSalesforceCaseNumber())) {
+            caseEntity.setSalesforceCaseNumber(record.getCaseNumber());
+            changed = true;
+        }
+
+        if (changed) {
+            caseEntity.setUpdatedBy(SALESFORCE_USER);
+        }
+        return changed;
+    }
+
+    private <E> E decode(String value, Function<String, E> decoder, SalesforceDto.CaseChange record) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return decoder.apply(value);
+        } catch (InvalidEnumValueException e) {
+            log.warn("⚠️ Valor do Salesforce sem correspondência ignorado: sfId={}, {}", record.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Posição na ordem de alteração do Salesforce: (SystemModstamp, Id)
+     */
+    private record Watermark(Instant modstamp, String recordId) {
+
+        boolean isAfter(Watermark other) {
+            int byTime = modstamp.compareTo(other.modstamp());
+            if (byTime != 0) {
+                return byTime > 0;
+            }
+            return other.recordId() != null && recordId.compareTo(other.recordId()) > 0;
+        }
+    }
+
+    private record Change(SalesforceDto.CaseChange record, Watermark position) {
+    }
+}
@@ -0,0 +1,328 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.OutboxEvent;
+import com.vivo.crm.casemanagement.domain.model.OutboxOperation;
+import com.vivo.crm.casemanagement.domain.model.OutboxStatus;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import com.vivo.crm.casemanagement.domain.repository.OutboxEventRepository;
+import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceAdapter;
+import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceDto;
+import com.vivo.crm.casemanagement.infrastructure.cache.TicketCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drena o outbox de sincronização com o Salesforce fora do caminho da requisição
+ * Eventos do mesmo caso são agrupados e enviados como um único snapshot, preservando a ordem
+ * Criações e atualizações são enviadas em lote pela API sObject Collections do Salesforce
+ */
+@Component
+@Slf4j
+public class SalesforceOutboxDispatcher {
+
+    private final OutboxEventRepository outboxRepository;
+    private final CaseRepository caseRepository;
+    private final SalesforceAdapter salesforceAdapter;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketCache ticketCache;
+
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration dispatchTimeout;
+    private final int compositeChunkSize;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+    private final Counter syncedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter timedOutCounter;
+    private final Timer syncLagTimer;
+
+    public SalesforceOutboxDispatcher(
+            OutboxEventRepository outboxRepository,
+            CaseRepository caseRepository,
+            SalesforceAdapter salesforceAdapter,
+            TransactionTemplate transactionTemplate,
+            TicketCache ticketCache,
+            MeterRegistry meterRegistry,
+            @Value("${adapters.salesforce.outbox.batch-size:500}") int batchSize,
+            @Value("${adapters.salesforce.outbox.concurrency:8}") int concurrency,
+            @Value("${adapters.salesforce.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${adapters.salesforce.outbox.initial-backoff:5s}") Duration initialBackoff,
+            @Value("${adapters.salesforce.outbox.max-backoff:10m}") Duration maxBackoff,
+            @Value("${adapters.salesforce.outbox.lease:60s}") Duration lease,
+            @Value("${adapters.salesforce.outbox.dispatch-timeout:45s}") Duration dispatchTimeout,
+            @Value("${adapters.salesforce.outbox.composite-chunk-size:200}") int compositeChunkSize) {
+        this.outboxRepository = outboxRepository;
+        this.caseRepository = caseRepository;
+        this.salesforceAdapter = salesforceAdapter;
+        this.transactionTemplate = transactionTemplate;
+        this.ticketCache = ticketCache;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        if (dispatchTimeout.compareTo(lease) >= 0) {
+            throw new IllegalStateException(("adapters.salesforce.outbox.dispatch-timeout (%s) precisa ficar abaixo do " +
+                    "lease (%s): depois do lease outro nó reassume os eventos e reenvia os CREATEs")
+                    .formatted(dispatchTimeout, lease));
+        }
+        this.lease = lease;
+        this.dispatchTimeout = dispatchTimeout;
+        this.compositeChunkSize = compositeChunkSize;
+
+        Gauge.builder("salesforce.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Eventos aguardando sincronização com o Salesforce")
+                .register(meterRegistry);
+        TimeGauge.builder("salesforce.outbox.lag", oldestPending, TimeUnit.MILLISECONDS, this::oldestPendingAgeMillis)
+                .description("Idade do evento pendente mais antigo")
+                .register(meterRegistry);
+        this.syncedCounter = Counter.builder("salesforce.outbox.dispatched").tag("result", "success").register(meterRegistry);
+        this.retriedCounter = Counter.builder("salesforce.outbox.dispatched").tag("result", "retry").register(meterRegistry);
+        this.failedCounter = Counter.builder("salesforce.outbox.dispatched").tag("result", "failed").register(meterRegistry);
+        this.timedOutCounter = Counter.builder("salesforce.outbox.dispatched").tag("result", "timeout").register(meterRegistry);
+        this.syncLagTimer = Timer.builder("salesforce.outbox.sync.lag")
+                .description("Tempo entre a gravação local e a confirmação no Salesforce")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${adapters.salesforce.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        try {
+            List<OutboxEvent> events = claimDueEvents();
+            if (!events.isEmpty()) {
+                process(events);
+            }
+        } catch (Exception e) {
+            log.error("❌ Erro ao drenar outbox do Salesforce: {}", e.getMessage());
+        } finally {
+            refreshBacklogStats();
+        }
+    }
+
+    /**
+     * Seleciona eventos vencidos e os reserva pelo período de lease,
+     * para que outro ciclo (ou outro nó) não os processe em paralelo
+     */
+    private List<OutboxEvent> claimDueEvents() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> due = outboxRepository.findDue(OutboxStatus.PENDING, now, Limit.of(batchSize));
+            due.forEach(event -> event.setLeasedUntil(now.plus(lease)));
+            return due;
+        });
+    }
+
+    private void process(List<OutboxEvent> events) {
+        Map<String, List<OutboxEvent>> eventsByCase = events.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getCaseId, LinkedHashMap::new, Collectors.toList()));
+
+        Map<String, Case> cases = caseRepository.findAllById(eventsByCase.keySet()).stream()
+                .collect(Collectors.toMap(Case::getCaseId, Function.identity()));
+
+        List<CaseSync> creates = new ArrayList<>();
+        List<CaseSync> updates = new ArrayList<>();
+        List<SyncResult> immediate = new ArrayList<>();
+
+        eventsByCase.forEach((caseId, caseEvents) -> {
+            Case caseEntity = cases.get(caseId);
+            boolean needsCreate = caseEvents.stream().anyMatch(e -> e.getOperation() == OutboxOperation.CREATE);
+
+            if (caseEntity == null) {
+                immediate.add(SyncResult.success(caseId, caseEvents, null));
+            } else if (caseEntity.getSalesforceCaseId() != null) {
+                updates.add(new CaseSync(caseEntity, caseEvents));
+            } else if (needsCreate) {
+                creates.add(new CaseSync(caseEntity, caseEvents));
+            } else {
+                immediate.add(SyncResult.failure(caseId, caseEvents, "Aguardando criação do caso no Salesforce"));
+            }
+        });
+
+        // Cada chunk é gravado assim que o Salesforce responde: um chunk lento não descarta os que já foram criados.
+        // Após dispatch-timeout (antes do fim do lease) os chunks em andamento são cancelados e ficam para o próximo
+        // ciclo depois do lease; nenhum outro nó os reassume enquanto ainda podem estar em envio
+        Flux<List<SyncResult>> chunks = Flux.merge(
+                        Flux.just(immediate),
+                        syncInChunks(creates, salesforceAdapter::createCases, true),
+                        syncInChunks(updates, salesforceAdapter::updateCases, false))
+                .filter(chunk -> !chunk.isEmpty())
+                .take(dispatchTimeout);
+
+        int stored = 0;
+        for (List<SyncResult> chunk : chunks.toIterable()) {
+            store(chunk, cases);
+            stored += chunk.size();
+        }
+        int pending = eventsByCase.size() - stored;
+        if (pending > 0) {
+            timedOutCounter.increment(pending);
+            log.warn("⏱️ {} casos sem resposta do Salesforce em {}: seguem reservados até o fim do lease",
+                    pending, dispatchTimeout);
+        }
+        log.debug("📦 Outbox do Salesforce processado: {} eventos de {} casos", events.size(), eventsByCase.size());
+    }
+
+    private void store(List<SyncResult> results, Map<String, Case> cases) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Recarrega os eventos em uma única query: as alterações saem em batch update no flush
+            Map<Long, OutboxEvent> managed = outboxRepository.findAllById(results.stream()
+                            .flatMap(result -> result.events().stream())
+                            .map(OutboxEvent::getEventId)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(OutboxEvent::getEventId, Function.identity()));
+            results.forEach(result -> apply(result, managed));
+        });
+        // O ID do Salesforce passa a fazer parte da resposta do ticket
+        results.stream()
+                .filter(result -> result.salesforceCaseId() != null)
+                .forEach(result -> ticketCache.invalidate(cases.get(result.caseId()).getProtocol()));
+    }
+
+    /**
+     * Envia o estado atual dos casos em chamadas sObject Collections de até compositeChunkSize registros
+     * Eventos do mesmo caso viram um único registro; o resultado de cada registro é tratado individualmente
+     */
+    private Flux<List<SyncResult>> syncInChunks(List<CaseSync> syncs,
+                                          Function<List<Case>, Mono<List<SalesforceDto.CaseCreateResponse>>> call,
+                                          boolean create) {
+        return Flux.fromIterable(syncs)
+                .buffer(compositeChunkSize)
+                .flatMap(chunk -> call.apply(chunk.stream().map(CaseSync::caseEntity).toList())
+                        .map(responses -> toResults(chunk, responses, create))
+                        .onErrorResume(error -> Mono.just(chunk.stream()
+                                .map(sync -> SyncResult.failure(sync.caseId(), sync.events(), error.getMessage()))
+                                .toList())), concurrency);
+    }
+
+    private List<SyncResult> toResults(List<CaseSync> chunk, List<SalesforceDto.CaseCreateResponse> responses,
+                                       boolean create) {
+        List<SyncResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            CaseSync sync = chunk.get(i);
+            SalesforceDto.CaseCreateResponse response = i < responses.size() ? responses.get(i) : null;
+            if (response == null) {
+                results.add(SyncResult.failure(sync.caseId(), sync.events(), "Registro sem resposta do Salesforce"));
+            } else if (!response.isSuccess()) {
+                results.add(SyncResult.failure(sync.caseId(), sync.events(),
+                        "Salesforce rejeitou o registro: " + Arrays.toString(response.getErrors())));
+            } else {
+                results.add(SyncResult.success(sync.caseId(), sync.events(), create ? response.getId() : null));
+            }
+        }
+        return results;
+    }
+
+    private void apply(SyncResult result, Map<Long, OutboxEvent> managed) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = result.events().stream()
+                .map(event -> managed.get(event.getEventId()))
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (result.error() == null) {
+            if (result.salesforceCaseId() != null) {
+                caseRepository.updateSalesforceCaseId(result.caseId(), result.salesforceCaseId());
+                log.info("✅ Caso sincronizado com Salesforce: caseId={}, sfId={}", result.caseId(), result.salesforceCaseId());
+            }
+            for (OutboxEvent event : events) {
+                event.setStatus(OutboxStatus.DONE);
+                event.setAttempts(event.getAttempts() + 1);
+                event.setProcessedAt(now);
+                event.setLastError(null);
+                event.setLeasedUntil(null);
+                syncLagTimer.record(Duration.between(event.getCreatedAt(), now));
+                syncedCounter.increment();
+            }
+        } else {
+            for (OutboxEvent event : events) {
+                int attempts = event.getAttempts() + 1;
+                event.setAttempts(attempts);
+                event.setLastError(result.error());
+                event.setLeasedUntil(null);
+                if (attempts >= maxAttempts) {
+                    event.setStatus(OutboxStatus.FAILED);
+                    failedCounter.increment();
+                    log.error("❌ Sincronização com Salesforce esgotou tentativas: caseId={}, evento={}",
+                            result.caseId(), event.getEventId());
+                } else {
+                    event.setNextAttemptAt(now.plus(backoff(attempts)));
+                    retriedCounter.increment();
+                }
+            }
+            log.warn("⚠️ Falha ao sincronizar caso com Salesforce: caseId={}, erro={}", result.caseId(), result.error());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 20);
+        Duration delay = initialBackoff.multipliedBy(multiplier);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void refreshBacklogStats() {
+        try {
+            pendingEvents.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+            oldestPending.set(outboxRepository.findOldestCreatedAt(OutboxStatus.PENDING).orElse(null));
+        } catch (Exception e) {
+            log.debug("Não foi possível atualizar métricas do outbox: {}", e.getMessage());
+        }
+    }
+
+    private double oldestPendingAgeMillis(AtomicReference<Instant> oldest) {
+        Instant createdAt = oldest.get();
+        return createdAt == null ? 0 : Duration.between(createdAt, Instant.now()).toMillis();
+    }
+
+    private record CaseSync(Case caseEntity, List<OutboxEvent> events) {
+
+        String caseId() {
+            return caseEntity.getCaseId();
+        }
+    }
+
+    private record SyncResult(String caseId, List<OutboxEvent> events, String salesforceCaseId, String error) {
+
+        static SyncResult success(String caseId, List<OutboxEvent> events, String salesforceCaseId) {
+            return new SyncResult(caseId, events, salesforceCaseId, null);
+        }
+
+        static SyncResult failure(String caseId, List<OutboxEvent> events, String error) {
+            return new SyncResult(caseId, events, null, error == null ? "Erro desconhecido" : error);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.OutboxEvent;
+import com.vivo.crm.casemanagement.domain.model.OutboxOperation;
+import com.vivo.crm.casemanagement.domain.model.OutboxStatus;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository.CaseCacheRef;
+import com.vivo.crm.casemanagement.domain.repository.OutboxEventRepository;
+import com.vivo.crm.casemanagement.infrastructure.cache.TicketCache;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Reconciliação dos casos que ficaram sem sincronização com o Salesforce
+ *
+ * A cada ciclo, com o circuit breaker do Salesforce fechado:
+ * - limpa IDs fictícios FALLBACK-* (gravados por versões anteriores quando o Salesforce caía), dentro do batch-size
+ *   do ciclo, e, após o commit, invalida o ticket e o resumo do cliente desses casos
+ * - devolve ao outbox os eventos FAILED (tentativas esgotadas durante uma indisponibilidade longa)
+ * - enfileira CREATE para casos sem ID do Salesforce e sem evento pendente
+ * - ao detectar que o breaker voltou a fechar, antecipa os eventos que estavam em backoff
+ *
+ * Os eventos devolvidos são espaçados por rate-per-second para não gerar rajada contra o Salesforce
+ */
+@Component
+@Slf4j
+public class SalesforceReconciler {
+
+    static final String FALLBACK_ID_PREFIX = "FALLBACK-";
+
+    private final CaseRepository caseRepository;
+    private final OutboxEventRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketCache ticketCache;
+    private final CustomerSummaryService customerSummaries;
+    private final CircuitBreaker circuitBreaker;
+
+    private final boolean enabled;
+    private final Duration grace;
+    private final int batchSize;
+    private final int ratePerSecond;
+
+    private final AtomicBoolean recovered = new AtomicBoolean();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicReference<BacklogSample> lastSample = new AtomicReference<>();
+    private final AtomicReference<Double> drainRate = new AtomicReference<>(0.0);
+    private final Counter fallbackCleared;
+    private final Counter failedRequeued;
+    private final Counter unsyncedRequeued;
+    private final Counter skippedOpen;
+
+    public SalesforceReconciler(
+            CaseRepository caseRepository,
+            OutboxEventRepository outboxRepository,
+            TransactionTemplate transactionTemplate,
+            TicketCache ticketCache,
+            CustomerSummaryService customerSummaries,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${adapters.salesforce.reconciliation.enabled:true}") boolean enabled,
+            @Value("${adapters.salesforce.reconciliation.grace:2m}") Duration grace,
+            @Value("${adapters.salesforce.reconciliation.batch-size:2000}") int batchSize,
+            @Value("${adapters.salesforce.reconciliation.rate-per-second:200}") int ratePerSecond) {
+        this.caseRepository = caseRepository;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ticketCache = ticketCache;
+        this.customerSummaries = customerSummaries;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("salesforce");
+        this.enabled = enabled;
+        this.grace = grace;
+        this.batchSize = batchSize;
+        this.ratePerSecond = Math.max(1, ratePerSecond);
+
+        this.circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                log.info("🔄 Circuit breaker do Salesforce fechou: backlog será reconciliado no próximo ciclo");
+                recovered.set(true);
+            }
+        });
+
+        Gauge.builder("salesforce.reconciliation.backlog", backlog, AtomicLong::get)
+                .description("Casos sem ID do Salesforce + eventos do outbox com tentativas esgotadas")
+                .register(meterRegistry);
+        Gauge.builder("salesforce.reconciliation.drain.rate", drainRate, AtomicReference::get)
+                .description("Redução do backlog por segundo entre dois ciclos de reconciliação")
+                .register(meterRegistry);
+        this.fallbackCleared = Counter.builder("salesforce.reconciliation.requeued").tag("reason", "fallback-id").register(meterRegistry);
+        this.failedRequeued = Counter.builder("salesforce.reconciliation.requeued").tag("reason", "failed").register(meterRegistry);
+        this.unsyncedRequeued = Counter.builder("salesforce.reconciliation.requeued").tag("reason", "unsynced").register(meterRegistry);
+        this.skippedOpen = Counter.builder("salesforce.reconciliation.skipped").tag("reason", "circuit-open").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${adapters.salesforce.reconciliation.interval-ms:30000}",
+               initialDelayString = "${adapters.salesforce.reconciliation.interval-ms:30000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            CircuitBreaker.State state = circuitBreaker.getState();
+            if (state != CircuitBreaker.State.CLOSED && state != CircuitBreaker.State.DISABLED) {
+                skippedOpen.increment();
+                log.info("⏸️ Reconciliação adiada: circuit breaker do Salesforce {}", state);
+                return;
+            }
+            List<CaseCacheRef> cleared = transactionTemplate.execute(status -> requeue());
+            invalidate(Objects.requireNonNull(cleared));
+        } catch (Exception e) {
+            log.error("❌ Erro na reconciliação com o Salesforce: {}", e.getMessage());
+        } finally {
+            refreshBacklog();
+        }
+    }
+
+    /**
+     * Reenfileira o backlog e devolve os casos cujo ID FALLBACK-* foi limpo
+     */
+    private List<CaseCacheRef> requeue() {
+        Instant now = Instant.now();
+        int budget = batchSize;
+
+        if (recovered.getAndSet(false)) {
+            int rescheduled = outboxRepository.rescheduleDelayed(OutboxStatus.PENDING, now);
+            log.info("⏩ Eventos em backoff antecipados após recuperação do Salesforce: {}", rescheduled);
+        }
+
+        // Limpos em páginas do orçamento do ciclo: viram casos sem sincronização e voltam como CREATE nos próximos
+        List<CaseCacheRef> fallbackCases = caseRepository.findCacheRefsBySalesforceCaseIdStartingWith(
+                FALLBACK_ID_PREFIX, Limit.of(budget));
+        int cleared = fallbackCases.isEmpty() ? 0 : caseRepository.clearSalesforceCaseIdsStartingWith(
+                fallbackCases.stream().map(CaseCacheRef::getCaseId).toList(), FALLBACK_ID_PREFIX);
+        fallbackCleared.increment(cleared);
+        budget -= fallbackCases.size();
+
+        // Eventos esgotados voltam primeiro: preservam a operação original (CREATE ou UPDATE)
+        List<OutboxEvent> failed = budget <= 0
+                ? List.of()
+                : outboxRepository.findByStatusOrderByEventId(OutboxStatus.FAILED, Limit.of(budget));
+        int slot = 0;
+        for (OutboxEvent event : failed) {
+            event.setStatus(OutboxStatus.PENDING);
+            event.setAttempts(0);
+            event.setNextAttemptAt(slotTime(now, slot++));
+        }
+        failedRequeued.increment(failed.size());
+        budget -= failed.size();
+
+        // Consulta após o flush automático: casos cujo evento acabou de voltar a PENDING não são duplicados
+        List<String> unsynced = budget <= 0
+                ? List.of()
+                : caseRepository.findUnsyncedCaseIds(now.minus(grace), OutboxStatus.PENDING, Limit.of(budget));
+        for (String caseId : unsynced) {
+            OutboxEvent event = OutboxEvent.pending(caseId, OutboxOperation.CREATE);
+            event.setNextAttemptAt(slotTime(now, slot++));
+            outboxRepository.save(event);
+        }
+        unsyncedRequeued.increment(unsynced.size());
+
+        if (cleared + failed.size() + unsynced.size() > 0) {
+            log.info("🔁 Reconciliação com Salesforce: {} IDs FALLBACK limpos, {} eventos FAILED reenfileirados, " +
+                    "{} casos sem sincronização enfileirados", cleared, failed.size(), unsynced.size());
+        }
+        return fallbackCases;
+    }
+
+    /**
+     * Sem o ID fictício, GET e resumo do cliente não podem continuar servindo a versão em cache
+     */
+    private void invalidate(List<CaseCacheRef> cleared) {
+        if (cleared.isEmpty()) {
+            return;
+        }
+        cleared.forEach(ref -> ticketCache.invalidate(ref.getProtocol()));
+        customerSummaries.invalidateAll(cleared.stream()
+                .map(CaseCacheRef::getCustomerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Espaça os eventos reenfileirados conforme a taxa configurada
+     */
+    private Instant slotTime(Instant now, int slot) {
+        return now.plusMillis(slot * 1000L / ratePerSecond);
+    }
+
+    private void refreshBacklog() {
+        try {
+            long current = caseRepository.countBySalesforceCaseIdIsNull()
+                    + outboxRepository.countByStatus(OutboxStatus.FAILED);
+            backlog.set(current);
+
+            BacklogSample sample = new BacklogSample(current, Instant.now());
+            BacklogSample previous = lastSample.getAndSet(sample);
+            if (previous != null) {
+                double seconds = Duration.between(previous.at(), sample.at()).toMillis() / 1000.0;
+                drainRate.set(seconds > 0 ? Math.max(0, previous.size() - current) / seconds : 0.0);
+            }
+        } catch (Exception e) {
+            log.debug("Não foi possível atualizar métricas de reconciliação: {}", e.getMessage());
+        }
+    }
+
+    private record BacklogSample(long size, Instant at) {
+    }
+}
@@ -2,8 +2,7 @@ package com.vivo.crm.casemanagement.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -16,7 +15,19 @@ import java.util.Map;
  * Mapeado para o padrão TMF621 (TroubleTicket)
  */
 @Entity
-@Table(name = "cases")
+@Table(name = "cases", indexes = {
+        @Index(name = "idx_cases_status", columnList = "status"),
+        @Index(name = "idx_cases_priority", columnList = "priority"),
+        @Index(name = "idx_cases_ticket_type", columnList = "ticket_type"),
+        // Também atende os casos mais recentes do cliente (resumo por cliente)
+        @Index(name = "idx_cases_customer_id", columnList = "customer_id, updated_at"),
+        // Busca por ID do Salesforce e varredura de casos não sincronizados (salesforce_case_id IS NULL por created_at)
+        @Index(name = "idx_cases_salesforce_case_id", columnList = "salesforce_case_id, created_at"),
+        // Também atende a paginação por keyset (createdAt, caseId)
+        @Index(name = "idx_cases_created_at", columnList = "created_at, case_id"),
+        // Varredura dos roteamentos pendentes vencidos (GenesysRoutingReconciler)
+        @Index(name = "idx_cases_routing_next_attempt_at", columnList = "routing_next_attempt_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -28,7 +39,8 @@ public class Case {
     @Column(name = "case_id")
     private String caseId;
 
-    @Column(name = "protocol", unique = true)
+    // Atribuído pelo ProtocolGenerator antes da persistência
+    @Column(name = "protocol", unique = true, nullable = false)
     private String protocol;
 
     // === Tipificação ===
@@ -88,19 +100,43 @@ public class Case {
     @Column(name = "salesforce_case_number")
     private String salesforceCaseNumber;
 
+    // === Genesys (roteamento para fila de atendimento) ===
+    @Column(name = "routing_queue")
+    private String routingQueue;
+
+    @Column(name = "genesys_conversation_id")
+    private String genesysConversationId;
+
+    // Roteamento pendente: preenchido na criação e no escalonamento, limpo quando o Genesys confirma
+    @Column(name = "routing_next_attempt_at")
+    private Instant routingNextAttemptAt;
+
+    @Column(name = "routing_attempts")
+    private Integer routingAttempts;
+
     // === Características Customizadas (TMF TicketCharacteristic) ===
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "ticket_characteristics", columnDefinition = "TEXT")
+    // Uma linha por característica: o índice (nome, valor) atende os filtros ticketCharacteristic.<nome>=<valor>
+    @ElementCollection
+    @CollectionTable(name = "case_characteristics",
+            joinColumns = @JoinColumn(name = "case_id"),
+            indexes = @Index(name = "idx_case_characteristics_name_value",
+                    columnList = "characteristic_name, characteristic_value, case_id"))
+    @MapKeyColumn(name = "characteristic_name", length = 100)
+    @Column(name = "characteristic_value", length = 1000)
+    @BatchSize(size = 100)
     @Builder.Default
     private Map<String, String> ticketCharacteristics = new HashMap<>();
 
     // === Notas ===
+    // BatchSize: uma página de N casos carrega as notas em ceil(N/100) queries, e não N
     @OneToMany(mappedBy = "caseEntity", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<CaseNote> notes = new ArrayList<>();
 
     // === Partes Relacionadas ===
     @OneToMany(mappedBy = "caseEntity", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<RelatedParty> relatedParties = new ArrayList<>();
 
@@ -136,9 +172,6 @@ public class Case {
         if (this.priority == null) {
             this.priority = CasePriority.MEDIUM;
         }
-        if (this.protocol == null) {
-            this.protocol = generateProtocol();
-        }
     }
 
     @PreUpdate
@@ -146,10 +179,6 @@ public class Case {
         this.updatedAt = Instant.now();
     }
 
-    private String generateProtocol() {
-        return "VIVO-" + System.currentTimeMillis();
-    }
-
     public void addNote(CaseNote note) {
         notes.add(note);
         note.setCaseEntity(this);
@@ -9,6 +9,11 @@ public enum CasePriority {
     MEDIUM("Medium", "Média"),
     LOW("Low", "Baixa");
 
+    private static final EnumCodec<CasePriority> TMF_CODEC =
+            EnumCodec.of(CasePriority.class, "priority", CasePriority::getTmfValue);
+    private static final EnumCodec<CasePriority> SALESFORCE_CODEC =
+            EnumCodec.of(CasePriority.class, "priority", CasePriority::getSalesforceValue);
+
     private final String tmfValue;
     private final String salesforceValue;
 
@@ -25,12 +30,17 @@ public enum CasePriority {
         return salesforceValue;
     }
 
+    /**
+     * Converte o valor TMF621 (case-insensitive); valores desconhecidos lançam InvalidEnumValueException
+     */
     public static CasePriority fromTmfValue(String tmfValue) {
-        for (CasePriority priority : values()) {
-            if (priority.tmfValue.equalsIgnoreCase(tmfValue)) {
-                return priority;
-            }
-        }
-        return MEDIUM;
+        return TMF_CODEC.decode(tmfValue);
+    }
+
+    /**
+     * Converte o valor do picklist do Salesforce (case-insensitive); valores desconhecidos lançam InvalidEnumValueException
+     */
+    public static CasePriority fromSalesforceValue(String salesforceValue) {
+        return SALESFORCE_CODEC.decode(salesforceValue);
     }
 }
@@ -8,6 +8,9 @@ public enum CaseSeverity {
     MAJOR("Major", "Major"),
     MINOR("Minor", "Minor");
 
+    private static final EnumCodec<CaseSeverity> TMF_CODEC =
+            EnumCodec.of(CaseSeverity.class, "severity", CaseSeverity::getTmfValue);
+
     private final String tmfValue;
     private final String salesforceValue;
 
@@ -24,12 +27,10 @@ public enum CaseSeverity {
         return salesforceValue;
     }
 
+    /**
+     * Converte o valor TMF621 (case-insensitive); valores desconhecidos lançam InvalidEnumValueException
+     */
     public static CaseSeverity fromTmfValue(String tmfValue) {
-        for (CaseSeverity severity : values()) {
-            if (severity.tmfValue.equalsIgnoreCase(tmfValue)) {
-                return severity;
-            }
-        }
-        return MINOR;
+        return TMF_CODEC.decode(tmfValue);
     }
 }
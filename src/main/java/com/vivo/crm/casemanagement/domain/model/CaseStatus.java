@@ -13,6 +13,11 @@ public enum CaseStatus {
     CLOSED("closed", "Fechado"),
     CANCELLED("cancelled", "Cancelado");
 
+    private static final EnumCodec<CaseStatus> TMF_CODEC =
+            EnumCodec.of(CaseStatus.class, "status", CaseStatus::getTmfValue);
+    private static final EnumCodec<CaseStatus> SALESFORCE_CODEC =
+            EnumCodec.of(CaseStatus.class, "status", CaseStatus::getSalesforceValue);
+
     private final String tmfValue;
     private final String salesforceValue;
 
@@ -29,12 +34,24 @@ public enum CaseStatus {
         return salesforceValue;
     }
 
+    /**
+     * Caso ainda em atendimento (não resolvido, fechado ou cancelado)
+     */
+    public boolean isOpen() {
+        return this != RESOLVED && this != CLOSED && this != CANCELLED;
+    }
+
+    /**
+     * Converte o valor TMF621 (case-insensitive); valores desconhecidos lançam InvalidEnumValueException
+     */
     public static CaseStatus fromTmfValue(String tmfValue) {
-        for (CaseStatus status : values()) {
-            if (status.tmfValue.equalsIgnoreCase(tmfValue)) {
-                return status;
-            }
-        }
-        return NEW;
+        return TMF_CODEC.decode(tmfValue);
+    }
+
+    /**
+     * Converte o valor do picklist do Salesforce (case-insensitive); valores desconhecidos lançam InvalidEnumValueException
+     */
+    public static CaseStatus fromSalesforceValue(String salesforceValue) {
+        return SALESFORCE_CODEC.decode(salesforceValue);
     }
 }
@@ -0,0 +1,56 @@
+package com.vivo.crm.casemanagement.domain.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Tabela de conversão valor externo -> constante do enum, montada uma única vez
+ *
+ * Lookup sem alocação: TreeMap com String.CASE_INSENSITIVE_ORDER compara caractere a caractere,
+ * sem values() (que clona o array) nem toLowerCase() a cada chamada.
+ * Valores desconhecidos são rejeitados (InvalidEnumValueException), nunca convertidos para um padrão.
+ */
+public final class EnumCodec<E extends Enum<E>> {
+
+    private final String field;
+    private final Map<String, E> byValue;
+    private final List<String> acceptedValues;
+
+    private EnumCodec(String field, Map<String, E> byValue, List<String> acceptedValues) {
+        this.field = field;
+        this.byValue = byValue;
+        this.acceptedValues = acceptedValues;
+    }
+
+    /**
+     * @param field nome do campo na API/integração, usado na mensagem de erro
+     * @param key   valor externo de cada constante (ex.: tmfValue, salesforceValue)
+     */
+    public static <E extends Enum<E>> EnumCodec<E> of(Class<E> type, String field, Function<E, String> key) {
+        TreeMap<String, E> byValue = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        E[] constants = type.getEnumConstants();
+        for (E constant : constants) {
+            E previous = byValue.put(key.apply(constant), constant);
+            if (previous != null) {
+                throw new IllegalStateException("Valor duplicado em " + type.getSimpleName() + ": " + key.apply(constant));
+            }
+        }
+        List<String> acceptedValues = Arrays.stream(constants).map(key).toList();
+        return new EnumCodec<>(field, Collections.unmodifiableMap(byValue), acceptedValues);
+    }
+
+    /**
+     * Converte o valor externo (case-insensitive) ou lança InvalidEnumValueException
+     */
+    public E decode(String value) {
+        E constant = value != null ? byValue.get(value) : null;
+        if (constant == null) {
+            throw new InvalidEnumValueException(field, value, acceptedValues);
+        }
+        return constant;
+    }
+}
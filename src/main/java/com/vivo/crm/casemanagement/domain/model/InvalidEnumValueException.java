@@ -0,0 +1,27 @@
+package com.vivo.crm.casemanagement.domain.model;
+
+import java.util.Collection;
+
+/**
+ * Valor externo (TMF621 ou Salesforce) que não corresponde a nenhuma constante do enum
+ * A API responde 400 (GlobalExceptionHandler mapeia este tipo, não qualquer IllegalArgumentException)
+ */
+public class InvalidEnumValueException extends IllegalArgumentException {
+
+    private final String field;
+    private final String value;
+
+    public InvalidEnumValueException(String field, String value, Collection<String> acceptedValues) {
+        super("Valor inválido para '" + field + "': '" + value + "'. Valores aceitos: " + acceptedValues);
+        this.field = field;
+        this.value = value;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,12 @@
+package com.vivo.crm.casemanagement.domain.model;
+
+/**
+ * Parâmetro da requisição fora do contrato da API (limites, filtros, cursor, Idempotency-Key)
+ * A API responde 400 com a mensagem; demais IllegalArgumentException continuam sendo erro interno
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
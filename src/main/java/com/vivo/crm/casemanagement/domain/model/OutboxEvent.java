@@ -0,0 +1,79 @@
+package com.vivo.crm.casemanagement.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entidade OutboxEvent - Registro de sincronização pendente com o Salesforce
+ * Gravado na mesma transação do caso e drenado pelo SalesforceOutboxDispatcher
+ */
+@Entity
+@Table(name = "salesforce_outbox", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_case_id", columnList = "case_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    // Sequence com alocação em bloco: permite batch insert do outbox junto com os casos
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "salesforce_outbox_seq")
+    @SequenceGenerator(name = "salesforce_outbox_seq", sequenceName = "salesforce_outbox_seq", allocationSize = 50)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "case_id", nullable = false)
+    private String caseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private OutboxOperation operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OutboxStatus status;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    // Próxima tentativa (backoff); a reserva de quem está enviando fica em leasedUntil
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    // Reserva do dispatcher ou do fan-out da criação: ninguém assume o evento antes disso
+    @Column(name = "leased_until")
+    private Instant leasedUntil;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = Instant.now();
+        if (this.status == null) {
+            this.status = OutboxStatus.PENDING;
+        }
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+
+    public static OutboxEvent pending(String caseId, OutboxOperation operation) {
+        return OutboxEvent.builder()
+                .caseId(caseId)
+                .operation(operation)
+                .status(OutboxStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.vivo.crm.casemanagement.domain.model;
+
+/**
+ * Operação pendente de sincronização com o Salesforce
+ */
+public enum OutboxOperation {
+    CREATE,
+    UPDATE
+}
@@ -0,0 +1,10 @@
+package com.vivo.crm.casemanagement.domain.model;
+
+/**
+ * Estado de um evento do outbox de sincronização
+ */
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,41 @@
+package com.vivo.crm.casemanagement.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entidade SyncCheckpoint - High-watermark de uma sincronização incremental
+ * Guarda o último (SystemModstamp, Id) aplicado; avança na mesma transação das alterações
+ */
+@Entity
+@Table(name = "sync_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncCheckpoint {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "watermark", nullable = false)
+    private Instant watermark;
+
+    @Column(name = "last_record_id")
+    private String lastRecordId;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = Instant.now();
+    }
+}
@@ -3,34 +3,178 @@ package com.vivo.crm.casemanagement.domain.repository;
 import com.vivo.crm.casemanagement.domain.model.Case;
 import com.vivo.crm.casemanagement.domain.model.CasePriority;
 import com.vivo.crm.casemanagement.domain.model.CaseStatus;
+import com.vivo.crm.casemanagement.domain.model.OutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CaseRepository extends JpaRepository<Case, String> {
+public interface CaseRepository extends JpaRepository<Case, String>, JpaSpecificationExecutor<Case> {
 
+    /**
+     * Busca o caso já com as partes relacionadas (JOIN FETCH); as notas vêm em uma segunda query.
+     * Duas coleções List não podem ser buscadas no mesmo JOIN (MultipleBagFetchException)
+     */
+    @EntityGraph(attributePaths = "relatedParties")
     Optional<Case> findByProtocol(String protocol);
 
     Optional<Case> findBySalesforceCaseId(String salesforceCaseId);
 
+    List<Case> findBySalesforceCaseIdIn(Collection<String> salesforceCaseIds);
+
     List<Case> findByStatus(CaseStatus status);
 
     List<Case> findByPriority(CasePriority priority);
 
     List<Case> findByCustomerId(String customerId);
 
-    @Query("SELECT c FROM Case c WHERE " +
-           "(:status IS NULL OR c.status = :status) AND " +
-           "(:priority IS NULL OR c.priority = :priority) AND " +
-           "(:ticketType IS NULL OR c.ticketType = :ticketType)")
-    List<Case> findByFilters(
-            @Param("status") CaseStatus status,
-            @Param("priority") CasePriority priority,
-            @Param("ticketType") String ticketType
+    /**
+     * Casos do cliente atualizados mais recentemente (índice idx_cases_customer_id)
+     */
+    List<Case> findByCustomerIdOrderByUpdatedAtDesc(String customerId, Limit limit);
+
+    long countByCustomerId(String customerId);
+
+    /**
+     * Status dos casos do cliente que estão nos status informados, sem carregar as entidades
+     */
+    @Query("SELECT c.caseId AS caseId, c.status AS status FROM Case c " +
+           "WHERE c.customerId = :customerId AND c.status IN :statuses")
+    List<CaseStatusRef> findStatusByCustomerIdAndStatusIn(
+            @Param("customerId") String customerId,
+            @Param("statuses") Collection<CaseStatus> statuses
+    );
+
+    /**
+     * Grava o ID do Salesforce sem passar pelo @Version do caso,
+     * evitando conflito com atualizações concorrentes vindas da API
+     */
+    @Modifying
+    @Query("UPDATE Case c SET c.salesforceCaseId = :salesforceCaseId WHERE c.caseId = :caseId")
+    int updateSalesforceCaseId(
+            @Param("caseId") String caseId,
+            @Param("salesforceCaseId") String salesforceCaseId
+    );
+
+    /**
+     * Grava a fila e a conversa do Genesys sem passar pelo @Version do caso, como updateSalesforceCaseId
+     */
+    @Modifying
+    @Query("UPDATE Case c SET c.routingQueue = :routingQueue, c.genesysConversationId = :conversationId, " +
+           "c.routingNextAttemptAt = NULL, c.routingAttempts = 0 " +
+           "WHERE c.caseId = :caseId")
+    int updateRouting(
+            @Param("caseId") String caseId,
+            @Param("routingQueue") String routingQueue,
+            @Param("conversationId") String conversationId
+    );
+
+    /**
+     * Reagenda o roteamento que falhou; não recria a pendência de um caso que já foi roteado
+     */
+    @Modifying
+    @Query("UPDATE Case c SET c.routingAttempts = :attempts, c.routingNextAttemptAt = :nextAttemptAt " +
+           "WHERE c.caseId = :caseId AND c.routingNextAttemptAt IS NOT NULL")
+    int scheduleRoutingRetry(
+            @Param("caseId") String caseId,
+            @Param("attempts") int attempts,
+            @Param("nextAttemptAt") Instant nextAttemptAt
+    );
+
+    /**
+     * Casos abertos com roteamento pendente vencido (índice idx_cases_routing_next_attempt_at)
+     */
+    @Query("SELECT c FROM Case c WHERE c.routingNextAttemptAt <= :now AND c.status IN :statuses " +
+           "ORDER BY c.routingNextAttemptAt")
+    List<Case> findRoutingDue(
+            @Param("now") Instant now,
+            @Param("statuses") Collection<CaseStatus> statuses,
+            Limit limit
+    );
+
+    /**
+     * Reserva os casos para o reconciliador até :until (outra instância não os reenfileira antes disso)
+     */
+    @Modifying
+    @Query("UPDATE Case c SET c.routingNextAttemptAt = :until " +
+           "WHERE c.caseId IN :caseIds AND c.routingNextAttemptAt IS NOT NULL")
+    int claimRouting(
+            @Param("caseIds") Collection<String> caseIds,
+            @Param("until") Instant until
+    );
+
+    long countByRoutingNextAttemptAtIsNotNullAndStatusIn(Collection<CaseStatus> statuses);
+
+    /**
+     * Casos ainda sem ID do Salesforce e sem sincronização pendente no outbox (criados antes de :before)
+     */
+    @Query("SELECT c.caseId FROM Case c WHERE c.salesforceCaseId IS NULL AND c.createdAt < :before " +
+           "AND NOT EXISTS (SELECT 1 FROM OutboxEvent e WHERE e.caseId = c.caseId AND e.status = :pending) " +
+           "ORDER BY c.createdAt")
+    List<String> findUnsyncedCaseIds(
+            @Param("before") Instant before,
+            @Param("pending") OutboxStatus pending,
+            Limit limit
     );
+
+    long countBySalesforceCaseIdIsNull();
+
+    /**
+     * Casos com ID do Salesforce começando com :prefix, com protocolo e cliente (caches a invalidar na limpeza)
+     */
+    @Query("SELECT c.caseId AS caseId, c.protocol AS protocol, c.customerId AS customerId FROM Case c " +
+           "WHERE c.salesforceCaseId LIKE CONCAT(:prefix, '%') ORDER BY c.createdAt")
+    List<CaseCacheRef> findCacheRefsBySalesforceCaseIdStartingWith(@Param("prefix") String prefix, Limit limit);
+
+    /**
+     * Remove IDs fictícios (ex.: FALLBACK-*) gravados quando o Salesforce estava indisponível
+     */
+    @Modifying
+    @Query("UPDATE Case c SET c.salesforceCaseId = NULL " +
+           "WHERE c.caseId IN :caseIds AND c.salesforceCaseId LIKE CONCAT(:prefix, '%')")
+    int clearSalesforceCaseIdsStartingWith(
+            @Param("caseIds") Collection<String> caseIds,
+            @Param("prefix") String prefix
+    );
+
+    /**
+     * Contagem de casos por status e prioridade (métrica cases.count)
+     */
+    @Query("SELECT c.status AS status, c.priority AS priority, COUNT(c) AS total FROM Case c GROUP BY c.status, c.priority")
+    List<StatusPriorityCount> countByStatusAndPriority();
+
+    interface CaseStatusRef {
+
+        String getCaseId();
+
+        CaseStatus getStatus();
+    }
+
+    interface CaseCacheRef {
+
+        String getCaseId();
+
+        String getProtocol();
+
+        String getCustomerId();
+    }
+
+    interface StatusPriorityCount {
+
+        CaseStatus getStatus();
+
+        CasePriority getPriority();
+
+        long getTotal();
+    }
 }
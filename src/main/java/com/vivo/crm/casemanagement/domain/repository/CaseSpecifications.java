@@ -0,0 +1,96 @@
+package com.vivo.crm.casemanagement.domain.repository;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CasePriority;
+import com.vivo.crm.casemanagement.domain.model.CaseStatus;
+import jakarta.persistence.criteria.MapJoin;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Predicados dinâmicos para consulta de casos
+ * Cada filtro só entra no SQL quando informado, permitindo o uso dos índices da tabela cases
+ * (ao contrário de "(:param IS NULL OR coluna = :param)", que impede o uso de índice)
+ */
+public final class CaseSpecifications {
+
+    private CaseSpecifications() {
+    }
+
+    /**
+     * Combina os filtros informados; filtros nulos são ignorados
+     */
+    public static Specification<Case> withFilters(CaseStatus status, CasePriority priority, String ticketType) {
+        return withFilters(status, priority, ticketType, Map.of());
+    }
+
+    public static Specification<Case> withFilters(CaseStatus status, CasePriority priority, String ticketType,
+                                                  Map<String, String> characteristics) {
+        return Specification.allOf(
+                hasStatus(status),
+                hasPriority(priority),
+                hasTicketType(ticketType),
+                hasCharacteristics(characteristics)
+        );
+    }
+
+    public static Specification<Case> hasStatus(CaseStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Case> hasPriority(CasePriority priority) {
+        return priority == null ? null : (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Case> hasTicketType(String ticketType) {
+        return ticketType == null ? null : (root, query, cb) -> cb.equal(root.get("ticketType"), ticketType);
+    }
+
+    public static Specification<Case> hasCustomerId(String customerId) {
+        return customerId == null ? null : (root, query, cb) -> cb.equal(root.get("customerId"), customerId);
+    }
+
+    /**
+     * Todas as características informadas (nome = valor), cada uma por um join em case_characteristics
+     * que usa o índice idx_case_characteristics_name_value
+     */
+    public static Specification<Case> hasCharacteristics(Map<String, String> characteristics) {
+        if (characteristics == null || characteristics.isEmpty()) {
+            return null;
+        }
+        return Specification.allOf(characteristics.entrySet().stream()
+                .map(entry -> hasCharacteristic(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+
+    /**
+     * A chave (case_id, nome) é única, então o join não duplica casos na página nem no count
+     */
+    public static Specification<Case> hasCharacteristic(String name, String value) {
+        return (root, query, cb) -> {
+            MapJoin<Case, String, String> characteristic = root.joinMap("ticketCharacteristics");
+            return cb.and(
+                    cb.equal(characteristic.key(), name),
+                    cb.equal(characteristic.value(), value)
+            );
+        };
+    }
+
+    /**
+     * Keyset: casos posteriores a (createdAt, caseId), na ordem do índice idx_cases_created_at
+     */
+    public static Specification<Case> createdAfter(Instant createdAt, String caseId) {
+        if (createdAt == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("createdAt"), createdAt),
+                cb.and(
+                        cb.equal(root.get("createdAt"), createdAt),
+                        cb.greaterThan(root.get("caseId"), caseId)
+                )
+        );
+    }
+}
@@ -0,0 +1,87 @@
+package com.vivo.crm.casemanagement.domain.repository;
+
+import com.vivo.crm.casemanagement.domain.model.OutboxEvent;
+import com.vivo.crm.casemanagement.domain.model.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Seleciona eventos vencidos e sem reserva ativa com FOR UPDATE SKIP LOCKED (lock.timeout = -2),
+     * permitindo que vários nós drenem o outbox sem processar o mesmo evento
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+           "AND (e.leasedUntil IS NULL OR e.leasedUntil <= :now) ORDER BY e.eventId")
+    List<OutboxEvent> findDue(
+            @Param("status") OutboxStatus status,
+            @Param("now") Instant now,
+            Limit limit
+    );
+
+    long countByStatus(OutboxStatus status);
+
+    /**
+     * Casos que ainda têm alteração local a enviar ao Salesforce
+     */
+    @Query("SELECT DISTINCT e.caseId FROM OutboxEvent e WHERE e.status = :status AND e.caseId IN :caseIds")
+    List<String> findCaseIdsWithStatus(
+            @Param("status") OutboxStatus status,
+            @Param("caseIds") Collection<String> caseIds
+    );
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = :status")
+    Optional<Instant> findOldestCreatedAt(@Param("status") OutboxStatus status);
+
+    List<OutboxEvent> findByStatusOrderByEventId(OutboxStatus status, Limit limit);
+
+    /**
+     * Conclui um evento já sincronizado fora do dispatcher (fan-out da criação)
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :done, e.attempts = e.attempts + 1, e.processedAt = :now, " +
+           "e.lastError = NULL, e.leasedUntil = NULL WHERE e.eventId = :eventId AND e.status = :pending")
+    int markDone(
+            @Param("eventId") Long eventId,
+            @Param("pending") OutboxStatus pending,
+            @Param("done") OutboxStatus done,
+            @Param("now") Instant now
+    );
+
+    /**
+     * Devolve ao dispatcher, já vencido, um evento reservado pelo fan-out da criação
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :now, e.leasedUntil = NULL, e.lastError = :error " +
+           "WHERE e.eventId = :eventId AND e.status = :pending")
+    int release(
+            @Param("eventId") Long eventId,
+            @Param("pending") OutboxStatus pending,
+            @Param("now") Instant now,
+            @Param("error") String error
+    );
+
+    /**
+     * Antecipa para agora os eventos em backoff (usado quando o Salesforce volta a responder)
+     * Não mexe em leasedUntil: eventos reservados pelo dispatcher ou pelo fan-out continuam com quem os reservou
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :now WHERE e.status = :status AND e.nextAttemptAt > :now")
+    int rescheduleDelayed(@Param("status") OutboxStatus status, @Param("now") Instant now);
+}
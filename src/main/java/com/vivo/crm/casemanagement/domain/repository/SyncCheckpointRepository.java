@@ -0,0 +1,9 @@
+package com.vivo.crm.casemanagement.domain.repository;
+
+import com.vivo.crm.casemanagement.domain.model.SyncCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncCheckpointRepository extends JpaRepository<SyncCheckpoint, String> {
+}
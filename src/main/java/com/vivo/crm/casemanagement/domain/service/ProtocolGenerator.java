@@ -0,0 +1,10 @@
+package com.vivo.crm.casemanagement.domain.service;
+
+/**
+ * Gera o número de protocolo (ID público TMF621) de um caso
+ * Implementações devem ser únicas entre nós, monotônicas por nó e seguras para uso concorrente
+ */
+public interface ProtocolGenerator {
+
+    String nextProtocol();
+}
@@ -0,0 +1,54 @@
+package com.vivo.crm.casemanagement.infrastructure.adapter.genesys;
+
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adapter para integração com o roteamento do Genesys
+ * Circuit Breaker e Bulkhead próprios (instâncias "genesys"), isolados do Salesforce
+ *
+ * Sem retry: o roteamento roda fora da requisição (GenesysRoutingDispatcher) e uma falha
+ * fica registrada em genesys.routing.requests{result=failed}
+ */
+@Component
+@Slf4j
+public class GenesysAdapter {
+
+    private final WebClient webClient;
+
+    public GenesysAdapter(@Qualifier("genesysWebClient") WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    /**
+     * Roteia um caso para uma fila de atendimento
+     */
+    @CircuitBreaker(name = "genesys", fallbackMethod = "routeConversationFallback")
+    @Bulkhead(name = "genesys")
+    public Mono<GenesysDto.ConversationResponse> routeConversation(GenesysDto.RoutingRequest request) {
+        return webClient.post()
+                .uri("/api/v2/routing/conversations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(GenesysDto.ConversationResponse.class)
+                .doOnSuccess(response -> log.debug("✅ Caso {} roteado no Genesys: conversa={}",
+                        request.getExternalReference(), response != null ? response.getId() : null))
+                .doOnError(error -> log.error("❌ Erro ao rotear caso {} no Genesys: {}",
+                        request.getExternalReference(), error.getMessage()));
+    }
+
+    // === Fallback Method ===
+
+    private Mono<GenesysDto.ConversationResponse> routeConversationFallback(GenesysDto.RoutingRequest request, Throwable t) {
+        log.warn("⚠️ Fallback ativado para roteamento no Genesys. Erro: {}", t.getMessage());
+        // Propaga o erro: o dispatcher contabiliza a falha e segue com os demais casos do lote
+        return Mono.error(t);
+    }
+}
@@ -0,0 +1,58 @@
+package com.vivo.crm.casemanagement.infrastructure.adapter.genesys;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTOs para comunicação com a API de roteamento do Genesys
+ */
+public class GenesysDto {
+
+    /**
+     * Request para rotear uma conversa (caso) para uma fila
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RoutingRequest {
+        private String queueId;
+
+        // Maior valor é atendido primeiro
+        private Integer priority;
+
+        private String externalReference;
+
+        private Map<String, String> attributes;
+    }
+
+    /**
+     * Response do roteamento
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ConversationResponse {
+        private String id;
+        private String state;
+        private QueueRef queue;
+        private String createdDate;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class QueueRef {
+        private String id;
+        private String name;
+    }
+}
@@ -1,32 +1,58 @@
 package com.vivo.crm.casemanagement.infrastructure.adapter.salesforce;
 
 import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CasePriority;
+import com.vivo.crm.casemanagement.domain.model.CaseStatus;
+import com.vivo.crm.casemanagement.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
 /**
  * Adapter para integração com Salesforce CRM
- * Implementa padrões de resiliência (Circuit Breaker, Retry)
+ * Implementa padrões de resiliência (Circuit Breaker, Retry, Bulkhead)
+ *
+ * Cada tentativa passa pelo bulkhead (teto fixo de chamadas admitidas) e pelo limitador adaptativo
+ * (chamadas simultâneas de fato), então os retries não multiplicam a concorrência contra o Salesforce
  */
 @Component
 @Slf4j
 public class SalesforceAdapter {
 
+    private static final DateTimeFormatter SOQL_DATETIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    private static final Pattern SALESFORCE_ID = Pattern.compile("[a-zA-Z0-9]{15}([a-zA-Z0-9]{3})?");
+    private static final ParameterizedTypeReference<SalesforceDto.QueryResponse<SalesforceDto.CaseChange>> CASE_CHANGES =
+            new ParameterizedTypeReference<>() { };
+
     private final WebClient webClient;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final SalesforceCallMetrics callMetrics;
     private final String apiVersion;
 
     public SalesforceAdapter(
-            @Value("${adapters.salesforce.base-url}") String baseUrl,
+            @Qualifier("salesforceWebClient") WebClient webClient,
+            @Qualifier("salesforceConcurrencyLimiter") AdaptiveConcurrencyLimiter limiter,
+            SalesforceCallMetrics callMetrics,
             @Value("${adapters.salesforce.api-version}") String apiVersion) {
-        this.webClient = WebClient.builder()
-                .baseUrl(baseUrl)
-                .build();
+        this.webClient = webClient;
+        this.limiter = limiter;
+        this.callMetrics = callMetrics;
         this.apiVersion = apiVersion;
     }
 
@@ -34,61 +60,170 @@ public class SalesforceAdapter {
      * Cria um Case no Salesforce
      */
     @CircuitBreaker(name = "salesforce", fallbackMethod = "createCaseFallback")
+    @Bulkhead(name = "salesforce")
     @Retry(name = "salesforce")
     public Mono<SalesforceDto.CaseCreateResponse> createCase(Case caseEntity) {
         log.info("📤 Enviando caso para Salesforce: {}", caseEntity.getSubject());
 
         SalesforceDto.CaseCreateRequest request = mapToSalesforceRequest(caseEntity);
 
-        return webClient.post()
+        SalesforceCallMetrics.Call call = callMetrics.start(SalesforceCallMetrics.Operation.CREATE, true);
+
+        return limiter.execute(() -> call.attempt(webClient.post()
                 .uri("/services/data/{version}/sobjects/Case", apiVersion)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(request)
                 .retrieve()
                 .bodyToMono(SalesforceDto.CaseCreateResponse.class)
                 .doOnSuccess(response -> log.info("✅ Caso criado no Salesforce: ID={}", response.getId()))
-                .doOnError(error -> log.error("❌ Erro ao criar caso no Salesforce: {}", error.getMessage()));
+                .doOnError(error -> log.error("❌ Erro ao criar caso no Salesforce: {}", error.getMessage()))));
     }
 
     /**
      * Busca um Case no Salesforce pelo ID
      */
     @CircuitBreaker(name = "salesforce", fallbackMethod = "getCaseFallback")
+    @Bulkhead(name = "salesforce")
     public Mono<SalesforceDto.CaseResponse> getCase(String salesforceCaseId) {
         log.info("📥 Buscando caso no Salesforce: {}", salesforceCaseId);
 
-        return webClient.get()
+        SalesforceCallMetrics.Call call = callMetrics.start(SalesforceCallMetrics.Operation.GET, false);
+
+        return limiter.execute(() -> call.attempt(webClient.get()
                 .uri("/services/data/{version}/sobjects/Case/{id}", apiVersion, salesforceCaseId)
                 .retrieve()
                 .bodyToMono(SalesforceDto.CaseResponse.class)
                 .doOnSuccess(response -> log.info("✅ Caso encontrado: CaseNumber={}", response.getCaseNumber()))
-                .doOnError(error -> log.error("❌ Erro ao buscar caso no Salesforce: {}", error.getMessage()));
+                .doOnError(error -> log.error("❌ Erro ao buscar caso no Salesforce: {}", error.getMessage()))));
     }
 
     /**
      * Atualiza um Case no Salesforce
      */
     @CircuitBreaker(name = "salesforce", fallbackMethod = "updateCaseFallback")
+    @Bulkhead(name = "salesforce")
     @Retry(name = "salesforce")
     public Mono<Void> updateCase(String salesforceCaseId, Case caseEntity) {
         log.info("📤 Atualizando caso no Salesforce: {}", salesforceCaseId);
 
-        SalesforceDto.CaseUpdateRequest request = SalesforceDto.CaseUpdateRequest.builder()
-                .subject(caseEntity.getSubject())
-                .description(caseEntity.getDescription())
-                .status(caseEntity.getStatus() != null ? caseEntity.getStatus().getSalesforceValue() : null)
-                .priority(caseEntity.getPriority() != null ? caseEntity.getPriority().getSalesforceValue() : null)
-                .resolution(caseEntity.getResolution())
-                .build();
+        SalesforceDto.CaseUpdateRequest request = mapToSalesforceUpdate(caseEntity);
 
-        return webClient.patch()
+        SalesforceCallMetrics.Call call = callMetrics.start(SalesforceCallMetrics.Operation.UPDATE, true);
+
+        return limiter.execute(() -> call.attempt(webClient.patch()
                 .uri("/services/data/{version}/sobjects/Case/{id}", apiVersion, salesforceCaseId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(request)
                 .retrieve()
                 .bodyToMono(Void.class)
                 .doOnSuccess(v -> log.info("✅ Caso atualizado no Salesforce"))
-                .doOnError(error -> log.error("❌ Erro ao atualizar caso no Salesforce: {}", error.getMessage()));
+                .doOnError(error -> log.error("❌ Erro ao atualizar caso no Salesforce: {}", error.getMessage()))));
+    }
+
+    /**
+     * Cria vários Cases em uma única chamada sObject Collections (máximo de 200 por chamada)
+     * As respostas vêm na mesma ordem dos casos enviados
+     */
+    @CircuitBreaker(name = "salesforce", fallbackMethod = "createCasesFallback")
+    @Bulkhead(name = "salesforce")
+    @Retry(name = "salesforce")
+    public Mono<List<SalesforceDto.CaseCreateResponse>> createCases(List<Case> cases) {
+        log.info("📤 Enviando {} casos para Salesforce (composite)", cases.size());
+
+        List<SalesforceDto.CompositeRecord> records = cases.stream()
+                .map(caseEntity -> SalesforceDto.CompositeRecord.builder()
+                        .fields(mapToSalesforceRequest(caseEntity))
+                        .build())
+                .toList();
+
+        return sendComposite(HttpMethod.POST, records,
+                callMetrics.start(SalesforceCallMetrics.Operation.CREATE_BATCH, true));
+    }
+
+    /**
+     * Atualiza vários Cases (que já possuem ID do Salesforce) em uma única chamada sObject Collections
+     */
+    @CircuitBreaker(name = "salesforce", fallbackMethod = "updateCasesFallback")
+    @Bulkhead(name = "salesforce")
+    @Retry(name = "salesforce")
+    public Mono<List<SalesforceDto.CaseCreateResponse>> updateCases(List<Case> cases) {
+        log.info("📤 Atualizando {} casos no Salesforce (composite)", cases.size());
+
+        List<SalesforceDto.CompositeRecord> records = cases.stream()
+                .map(caseEntity -> SalesforceDto.CompositeRecord.builder()
+                        .id(caseEntity.getSalesforceCaseId())
+                        .fields(mapToSalesforceUpdate(caseEntity))
+                        .build())
+                .toList();
+
+        return sendComposite(HttpMethod.PATCH, records,
+                callMetrics.start(SalesforceCallMetrics.Operation.UPDATE_BATCH, true));
+    }
+
+    /**
+     * Busca os Cases alterados depois do checkpoint (SystemModstamp, Id), em ordem de alteração
+     * O desempate pelo Id evita perder registros com o mesmo SystemModstamp entre duas páginas
+     */
+    @CircuitBreaker(name = "salesforce", fallbackMethod = "queryFallback")
+    @Bulkhead(name = "salesforce")
+    public Mono<SalesforceDto.QueryResponse<SalesforceDto.CaseChange>> queryCaseChanges(Instant since,
+                                                                                         String lastId,
+                                                                                         int limit) {
+        if (lastId != null && !SALESFORCE_ID.matcher(lastId).matches()) {
+            return Mono.error(new IllegalArgumentException("ID do Salesforce inválido no checkpoint: " + lastId));
+        }
+        String watermark = SOQL_DATETIME.format(since);
+        String where = lastId == null
+                ? "SystemModstamp > " + watermark
+                : "SystemModstamp > " + watermark + " OR (SystemModstamp = " + watermark + " AND Id > '" + lastId + "')";
+        String soql = "SELECT Id, CaseNumber, Subject, Description, Status, Priority, SystemModstamp FROM Case"
+                + " WHERE " + where
+                + " ORDER BY SystemModstamp, Id LIMIT " + limit;
+
+        log.debug("📥 Consultando alterações no Salesforce: {}", soql);
+
+        SalesforceCallMetrics.Call call = callMetrics.start(SalesforceCallMetrics.Operation.QUERY, false);
+
+        return limiter.execute(() -> call.attempt(webClient.get()
+                .uri("/services/data/{version}/query?q={soql}", apiVersion, soql)
+                .retrieve()
+                .bodyToMono(CASE_CHANGES)
+                .doOnError(error -> log.error("❌ Erro ao consultar alterações no Salesforce: {}", error.getMessage()))));
+    }
+
+    /**
+     * Próxima página de uma query (nextRecordsUrl da página anterior)
+     */
+    @CircuitBreaker(name = "salesforce", fallbackMethod = "queryMoreFallback")
+    @Bulkhead(name = "salesforce")
+    public Mono<SalesforceDto.QueryResponse<SalesforceDto.CaseChange>> queryMoreCaseChanges(String nextRecordsUrl) {
+        SalesforceCallMetrics.Call call = callMetrics.start(SalesforceCallMetrics.Operation.QUERY_MORE, false);
+
+        return limiter.execute(() -> call.attempt(webClient.get()
+                .uri(nextRecordsUrl)
+                .retrieve()
+                .bodyToMono(CASE_CHANGES)
+                .doOnError(error -> log.error("❌ Erro ao consultar alterações no Salesforce: {}", error.getMessage()))));
+    }
+
+    private Mono<List<SalesforceDto.CaseCreateResponse>> sendComposite(HttpMethod method,
+                                                                      List<SalesforceDto.CompositeRecord> records,
+                                                                      SalesforceCallMetrics.Call call) {
+        SalesforceDto.CompositeRequest request = SalesforceDto.CompositeRequest.builder()
+                .allOrNone(false)
+                .records(records)
+                .build();
+
+        return limiter.execute(() -> call.attempt(webClient.method(method)
+                .uri("/services/data/{version}/composite/sobjects", apiVersion)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToFlux(SalesforceDto.CaseCreateResponse.class)
+                .collectList()
+                .doOnSuccess(responses -> log.info("✅ Composite {} processado no Salesforce: {} registros",
+                        method, responses.size()))
+                .doOnError(error -> log.error("❌ Erro na chamada composite ao Salesforce: {}", error.getMessage()))));
     }
 
     /**
@@ -98,33 +233,77 @@ public class SalesforceAdapter {
         return SalesforceDto.CaseCreateRequest.builder()
                 .subject(caseEntity.getSubject())
                 .description(caseEntity.getDescription())
-                .status(caseEntity.getStatus() != null ? caseEntity.getStatus().getSalesforceValue() : "Novo")
-                .priority(caseEntity.getPriority() != null ? caseEntity.getPriority().getSalesforceValue() : "Média")
+                .status(caseEntity.getStatus() != null ? caseEntity.getStatus().getSalesforceValue() : CaseStatus.NEW.getSalesforceValue())
+                .priority(caseEntity.getPriority() != null ? caseEntity.getPriority().getSalesforceValue() : CasePriority.MEDIUM.getSalesforceValue())
                 .type(caseEntity.getTicketType())
                 .origin(caseEntity.getChannelName())
                 .severity(caseEntity.getSeverity() != null ? caseEntity.getSeverity().getSalesforceValue() : null)
                 .build();
     }
 
+    /**
+     * Mapeia entidade Case para atualização no Salesforce
+     */
+    private SalesforceDto.CaseUpdateRequest mapToSalesforceUpdate(Case caseEntity) {
+        return SalesforceDto.CaseUpdateRequest.builder()
+                .subject(caseEntity.getSubject())
+                .description(caseEntity.getDescription())
+                .status(caseEntity.getStatus() != null ? caseEntity.getStatus().getSalesforceValue() : null)
+                .priority(caseEntity.getPriority() != null ? caseEntity.getPriority().getSalesforceValue() : null)
+                .resolution(caseEntity.getResolution())
+                .build();
+    }
+
     // === Fallback Methods ===
 
     private Mono<SalesforceDto.CaseCreateResponse> createCaseFallback(Case caseEntity, Throwable t) {
+        callMetrics.fallback(SalesforceCallMetrics.Operation.CREATE, t);
         log.warn("⚠️ Fallback ativado para criação de caso. Erro: {}", t.getMessage());
-        // Retorna um response simulado para não bloquear o fluxo
-        return Mono.just(SalesforceDto.CaseCreateResponse.builder()
-                .id("FALLBACK-" + System.currentTimeMillis())
-                .success(false)
-                .errors(new Object[]{"Salesforce indisponível - caso será sincronizado posteriormente"})
-                .build());
+        // Propaga o erro: um ID fictício seria gravado como salesforceCaseId e nunca reconciliado
+        return Mono.error(t);
     }
 
     private Mono<SalesforceDto.CaseResponse> getCaseFallback(String salesforceCaseId, Throwable t) {
+        callMetrics.fallback(SalesforceCallMetrics.Operation.GET, t);
         log.warn("⚠️ Fallback ativado para busca de caso. Erro: {}", t.getMessage());
         return Mono.empty();
     }
 
     private Mono<Void> updateCaseFallback(String salesforceCaseId, Case caseEntity, Throwable t) {
+        callMetrics.fallback(SalesforceCallMetrics.Operation.UPDATE, t);
         log.warn("⚠️ Fallback ativado para atualização de caso. Erro: {}", t.getMessage());
-        return Mono.empty();
+        // Propaga o erro para que o outbox reagende a sincronização
+        return Mono.error(t);
+    }
+
+    private Mono<List<SalesforceDto.CaseCreateResponse>> createCasesFallback(List<Case> cases, Throwable t) {
+        callMetrics.fallback(SalesforceCallMetrics.Operation.CREATE_BATCH, t);
+        return compositeFallback(cases, t);
+    }
+
+    private Mono<List<SalesforceDto.CaseCreateResponse>> updateCasesFallback(List<Case> cases, Throwable t) {
+        callMetrics.fallback(SalesforceCallMetrics.Operation.UPDATE_BATCH, t);
+        return compositeFallback(cases, t);
+    }
+
+    private Mono<List<SalesforceDto.CaseCreateResponse>> compositeFallback(List<Case> cases, Throwable t) {
+        log.warn("⚠️ Fallback ativado para chamada composite ({} casos). Erro: {}", cases.size(), t.getMessage());
+        // Propaga o erro para que o outbox reagende a sincronização
+        return Mono.error(t);
+    }
+
+    private Mono<SalesforceDto.QueryResponse<SalesforceDto.CaseChange>> queryFallback(Instant since, String lastId,
+                                                                                       int limit, Throwable t) {
+        callMetrics.fallback(SalesforceCallMetrics.Operation.QUERY, t);
+        log.warn("⚠️ Fallback ativado para consulta de alterações. Erro: {}", t.getMessage());
+        // Propaga o erro: o checkpoint não avança e a consulta é repetida no próximo ciclo
+        return Mono.error(t);
+    }
+
+    private Mono<SalesforceDto.QueryResponse<SalesforceDto.CaseChange>> queryMoreFallback(String nextRecordsUrl,
+                                                                                           Throwable t) {
+        callMetrics.fallback(SalesforceCallMetrics.Operation.QUERY_MORE, t);
+        log.warn("⚠️ Fallback ativado para consulta de alterações (próxima página). Erro: {}", t.getMessage());
+        return Mono.error(t);
     }
 }
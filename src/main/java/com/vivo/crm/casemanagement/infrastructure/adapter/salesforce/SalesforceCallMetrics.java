@@ -0,0 +1,123 @@
+package com.vivo.crm.casemanagement.infrastructure.adapter.salesforce;
+
+import com.vivo.crm.casemanagement.infrastructure.resilience.ConcurrencyLimitExceededException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latência das chamadas ao Salesforce por operação e resultado (salesforce.calls, histograma)
+ *
+ * Cada tentativa é medida separadamente:
+ * - success: resposta 2xx
+ * - retry: falhou e o Retry do Resilience4j vai tentar de novo
+ * - error: falhou sem nova tentativa
+ * - fallback: não chegou ao Salesforce (breaker aberto, bulkhead ou limitador) e caiu no fallback
+ */
+@Component
+public class SalesforceCallMetrics {
+
+    public enum Operation {
+        CREATE, GET, UPDATE, CREATE_BATCH, UPDATE_BATCH, QUERY, QUERY_MORE;
+
+        String tag() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    enum Outcome {
+        SUCCESS, RETRY, ERROR, FALLBACK;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final RetryConfig retryConfig;
+    // Registrados no primeiro uso, como em CaseMetrics
+    private final Timer[][] timers = new Timer[Operation.values().length][Outcome.values().length];
+
+    public SalesforceCallMetrics(MeterRegistry meterRegistry, RetryRegistry retryRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.retryConfig = retryRegistry.retry("salesforce").getRetryConfig();
+    }
+
+    /**
+     * Inicia uma chamada lógica; deve ser criada no corpo do método do adapter (uma vez por chamada),
+     * fora do Mono que o Retry reassina a cada tentativa
+     *
+     * @param retried true quando o método tem @Retry
+     */
+    public Call start(Operation operation, boolean retried) {
+        return new Call(operation, retried);
+    }
+
+    /**
+     * Registra uma chamada que não chegou ao Salesforce; demais falhas já foram medidas na tentativa
+     */
+    public void fallback(Operation operation, Throwable error) {
+        if (error instanceof CallNotPermittedException
+                || error instanceof BulkheadFullException
+                || error instanceof ConcurrencyLimitExceededException) {
+            timer(operation, Outcome.FALLBACK).record(Duration.ZERO);
+        }
+    }
+
+    private Timer timer(Operation operation, Outcome outcome) {
+        Timer timer = timers[operation.ordinal()][outcome.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder("salesforce.calls")
+                    .description("Latência das chamadas ao Salesforce por tentativa")
+                    .tags("operation", operation.tag(), "outcome", outcome.tag())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(5))
+                    .maximumExpectedValue(Duration.ofSeconds(60))
+                    .register(meterRegistry);
+            timers[operation.ordinal()][outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    public final class Call {
+
+        private final Operation operation;
+        private final boolean retried;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private Call(Operation operation, boolean retried) {
+            this.operation = operation;
+            this.retried = retried;
+        }
+
+        /**
+         * Mede uma tentativa (cada assinatura do Mono é uma tentativa)
+         */
+        public <T> Mono<T> attempt(Mono<T> exchange) {
+            return Mono.defer(() -> {
+                int attempt = attempts.incrementAndGet();
+                long start = System.nanoTime();
+                return exchange
+                        .doOnSuccess(value -> record(Outcome.SUCCESS, start))
+                        .doOnError(error -> record(willRetry(attempt, error) ? Outcome.RETRY : Outcome.ERROR, start));
+            });
+        }
+
+        private boolean willRetry(int attempt, Throwable error) {
+            return retried && attempt < retryConfig.getMaxAttempts() && retryConfig.getExceptionPredicate().test(error);
+        }
+
+        private void record(Outcome outcome, long start) {
+            timer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.vivo.crm.casemanagement.infrastructure.adapter.salesforce;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * DTOs para comunicação com API do Salesforce
  */
@@ -125,4 +130,86 @@ public class SalesforceDto {
         @JsonProperty("Resolution__c")
         private String resolution;
     }
+
+    /**
+     * Request da API sObject Collections (composite/sobjects) - até 200 registros por chamada
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CompositeRequest {
+        private boolean allOrNone;
+
+        private List<CompositeRecord> records;
+    }
+
+    /**
+     * Registro de uma chamada sObject Collections: atributos do sObject + campos do Case
+     * O Id só é enviado em atualizações
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CompositeRecord {
+        @Builder.Default
+        private Map<String, String> attributes = Map.of("type", "Case");
+
+        @JsonProperty("Id")
+        private String id;
+
+        // CaseCreateRequest ou CaseUpdateRequest
+        @JsonUnwrapped
+        private Object fields;
+    }
+
+    /**
+     * Resposta paginada da API de query (SOQL)
+     * Quando done=false, a próxima página é obtida em nextRecordsUrl
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QueryResponse<T> {
+        private long totalSize;
+
+        private boolean done;
+
+        private String nextRecordsUrl;
+
+        private List<T> records;
+    }
+
+    /**
+     * Case alterado no Salesforce (consulta incremental por SystemModstamp)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CaseChange {
+        @JsonProperty("Id")
+        private String id;
+
+        @JsonProperty("CaseNumber")
+        private String caseNumber;
+
+        @JsonProperty("Subject")
+        private String subject;
+
+        @JsonProperty("Description")
+        private String description;
+
+        @JsonProperty("Status")
+        private String status;
+
+        @JsonProperty("Priority")
+        private String priority;
+
+        @JsonProperty("SystemModstamp")
+        private String systemModstamp;
+    }
 }
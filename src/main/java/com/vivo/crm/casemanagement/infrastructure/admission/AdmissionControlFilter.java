@@ -0,0 +1,132 @@
+package com.vivo.crm.casemanagement.infrastructure.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aplica o controle de admissão na frente do TroubleTicketController
+ *
+ * A permissão vale até o fim da resposta: como os endpoints devolvem Mono (processamento assíncrono),
+ * ela é devolvida pelo AsyncListener quando a requisição assíncrona termina, e não na saída do filtro.
+ *
+ * O canal vem do header configurado em admission.channel-header: ler channel.id do corpo exigiria
+ * bufferizar o payload antes de decidir a admissão, justamente o trabalho que se quer evitar.
+ */
+@Component
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/tmf-api/troubleTicket/";
+
+    private final AdmissionController admissionController;
+    private final ObjectMapper objectMapper;
+    private final String channelHeader;
+
+    public AdmissionControlFilter(
+            AdmissionController admissionController,
+            ObjectMapper objectMapper,
+            @Value("${admission.channel-header:X-Channel-Id}") String channelHeader) {
+        this.admissionController = admissionController;
+        this.objectMapper = objectMapper;
+        this.channelHeader = channelHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionController.isEnabled() || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdmissionController.Permit permit;
+        try {
+            permit = admissionController.acquire(classify(request), request.getHeader(channelHeader));
+        } catch (AdmissionRejectedException e) {
+            reject(request, response, e);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(permit));
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    static AdmissionController.EndpointClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return AdmissionController.EndpointClass.READ;
+        }
+        if ("POST".equals(method) && request.getRequestURI().endsWith("/bulk")) {
+            return AdmissionController.EndpointClass.BULK;
+        }
+        return AdmissionController.EndpointClass.WRITE;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, AdmissionRejectedException e)
+            throws IOException {
+        log.warn("🚫 Requisição recusada pelo controle de admissão: {} {} - {}",
+                request.getMethod(), request.getRequestURI(), e.getMessage());
+
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", e.getStatus().value());
+        body.put("error", e.getStatus().getReasonPhrase());
+        body.put("message", e.getMessage());
+
+        response.setStatus(e.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Devolve a permissão no fim da requisição assíncrona, com sucesso, erro ou timeout
+     */
+    private record ReleaseOnComplete(AdmissionController.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Um novo ciclo assíncrono não devolve a permissão: ela segue até o onComplete
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.vivo.crm.casemanagement.infrastructure.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Controle de admissão das requisições da API de TroubleTicket
+ *
+ * - Orçamento global de requisições simultâneas (admission.max-concurrent)
+ * - Orçamento e fila limitada por classe de endpoint (admission.endpoints.{read|write|bulk}.*)
+ * - Leituras têm prioridade: uma permissão liberada vai primeiro para a fila de leituras,
+ *   depois escritas, depois lotes
+ * - Cota opcional de requisições simultâneas por canal (admission.channels.{canal}: N)
+ *
+ * Fila cheia ou espera acima de max-wait resultam em 503; canal acima da cota em 429
+ *
+ * A espera na fila bloqueia a thread do Tomcat que atende a requisição: a soma das filas precisa
+ * ficar abaixo de server.tomcat.threads.max, senão as requisições em espera ocupam todas as threads e
+ * nenhuma sobra para as já admitidas. A subida falha com uma configuração assim (exceto com virtual threads).
+ *
+ * Métricas: admission.inflight{endpoint}, admission.queue{endpoint}, admission.limit{endpoint},
+ * admission.rejected{endpoint,reason}, admission.queue.wait{endpoint} e admission.channel.inflight{channel}
+ */
+@Component
+@Slf4j
+public class AdmissionController {
+
+    /**
+     * Classes de endpoint em ordem de prioridade
+     */
+    public enum EndpointClass {
+        READ, WRITE, BULK;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final Duration retryAfter;
+
+    private final Map<EndpointClass, Budget> budgets = new EnumMap<>(EndpointClass.class);
+    private final Map<String, Integer> channelQuotas;
+    private final Map<String, AtomicInteger> channelInFlight = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private int inFlight;
+
+    public AdmissionController(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${admission.enabled:true}") boolean enabled,
+            @Value("${admission.max-concurrent:256}") int maxConcurrent,
+            @Value("${admission.retry-after:1s}") Duration retryAfter,
+            @Value("${admission.endpoints.read.max-concurrent:200}") int readConcurrent,
+            @Value("${admission.endpoints.read.max-queue:120}") int readQueue,
+            @Value("${admission.endpoints.read.max-wait:1s}") Duration readWait,
+            @Value("${admission.endpoints.write.max-concurrent:64}") int writeConcurrent,
+            @Value("${admission.endpoints.write.max-queue:48}") int writeQueue,
+            @Value("${admission.endpoints.write.max-wait:500ms}") Duration writeWait,
+            @Value("${admission.endpoints.bulk.max-concurrent:4}") int bulkConcurrent,
+            @Value("${admission.endpoints.bulk.max-queue:4}") int bulkQueue,
+            @Value("${admission.endpoints.bulk.max-wait:2s}") Duration bulkWait,
+            @Value("${server.tomcat.threads.max:200}") int workerThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        int totalQueue = readQueue + writeQueue + bulkQueue;
+        if (enabled && !virtualThreads && totalQueue >= workerThreads) {
+            throw new IllegalStateException(("Filas de admissão (read=%d + write=%d + bulk=%d = %d) precisam ficar " +
+                    "abaixo de server.tomcat.threads.max=%d: quem espera na fila ocupa uma thread do Tomcat")
+                    .formatted(readQueue, writeQueue, bulkQueue, totalQueue, workerThreads));
+        }
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.retryAfter = retryAfter;
+
+        budgets.put(EndpointClass.READ, new Budget(EndpointClass.READ, readConcurrent, readQueue, readWait, meterRegistry));
+        budgets.put(EndpointClass.WRITE, new Budget(EndpointClass.WRITE, writeConcurrent, writeQueue, writeWait, meterRegistry));
+        budgets.put(EndpointClass.BULK, new Budget(EndpointClass.BULK, bulkConcurrent, bulkQueue, bulkWait, meterRegistry));
+
+        this.channelQuotas = Binder.get(environment)
+                .bind("admission.channels", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        channelQuotas.keySet().forEach(channel -> {
+            AtomicInteger counter = channelInFlight.computeIfAbsent(channel, c -> new AtomicInteger());
+            Gauge.builder("admission.channel.inflight", counter, AtomicInteger::get)
+                    .tag("channel", channel)
+                    .register(meterRegistry);
+        });
+
+        Gauge.builder("admission.inflight.total", this, AdmissionController::currentInFlight)
+                .description("Requisições admitidas em andamento (todas as classes)")
+                .register(meterRegistry);
+
+        log.info("🚪 Controle de admissão: enabled={}, maxConcurrent={}, read={}/{}, write={}/{}, bulk={}/{}, " +
+                        "threads livres com as filas cheias={}, canais={}",
+                enabled, maxConcurrent, readConcurrent, readQueue, writeConcurrent, writeQueue,
+                bulkConcurrent, bulkQueue, virtualThreads ? "virtual" : workerThreads - totalQueue, channelQuotas);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Admite a requisição, aguardando na fila da classe até max-wait se o orçamento estiver esgotado
+     *
+     * @param channel canal de origem (null quando não informado: sem cota de canal)
+     * @return permissão a ser devolvida ao fim da requisição
+     * @throws AdmissionRejectedException quando a requisição deve ser recusada
+     */
+    public Permit acquire(EndpointClass endpoint, String channel) {
+        Budget budget = budgets.get(endpoint);
+        AtomicInteger channelCounter = acquireChannel(endpoint, channel);
+
+        try {
+            admit(budget);
+        } catch (AdmissionRejectedException e) {
+            if (channelCounter != null) {
+                channelCounter.decrementAndGet();
+            }
+            throw e;
+        }
+        return new Permit(budget, channelCounter);
+    }
+
+    private AtomicInteger acquireChannel(EndpointClass endpoint, String channel) {
+        Integer quota = channel == null ? null : channelQuotas.get(channel);
+        if (quota == null) {
+            return null;
+        }
+        AtomicInteger counter = channelInFlight.get(channel);
+        if (counter.incrementAndGet() > quota) {
+            counter.decrementAndGet();
+            budgets.get(endpoint).rejectedChannel.increment();
+            throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Canal '" + channel + "' acima da cota de " + quota + " requisições simultâneas", retryAfter);
+        }
+        return counter;
+    }
+
+    private void admit(Budget budget) {
+        lock.lock();
+        try {
+            if (budget.waiting == 0 && canAdmit(budget)) {
+                take(budget);
+                return;
+            }
+            if (budget.waiting >= budget.maxQueue) {
+                budget.rejectedQueueFull.increment();
+                throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Capacidade esgotada para requisições de " + budget.endpoint.tag(), retryAfter);
+            }
+
+            long start = System.nanoTime();
+            long remaining = budget.maxWait.toNanos();
+            budget.waiting++;
+            try {
+                while (!canAdmit(budget)) {
+                    if (remaining <= 0) {
+                        budget.rejectedTimeout.increment();
+                        throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                                "Tempo de espera esgotado para requisições de " + budget.endpoint.tag(), retryAfter);
+                    }
+                    remaining = budget.available.awaitNanos(remaining);
+                }
+                take(budget);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Requisição interrompida aguardando admissão", retryAfter);
+            } finally {
+                budget.waiting--;
+                // A saída desta requisição da fila pode liberar outra da mesma classe ou de menor prioridade
+                signalNext();
+            }
+            budget.queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Há permissão global e da classe, e nenhuma classe de maior prioridade admissível está esperando
+     */
+    private boolean canAdmit(Budget budget) {
+        if (inFlight >= maxConcurrent || budget.inFlight >= budget.maxConcurrent) {
+            return false;
+        }
+        for (Budget higher : budgets.values()) {
+            if (higher.endpoint.ordinal() >= budget.endpoint.ordinal()) {
+                break;
+            }
+            if (higher.waiting > 0 && higher.inFlight < higher.maxConcurrent) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void take(Budget budget) {
+        inFlight++;
+        budget.inFlight++;
+    }
+
+    private void release(Budget budget) {
+        lock.lock();
+        try {
+            inFlight--;
+            budget.inFlight--;
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acorda a fila de maior prioridade que pode ser admitida
+     */
+    private void signalNext() {
+        for (Budget candidate : budgets.values()) {
+            if (candidate.waiting > 0 && canAdmit(candidate)) {
+                candidate.available.signal();
+                return;
+            }
+        }
+    }
+
+    private int currentInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int inFlight(Budget budget) {
+        lock.lock();
+        try {
+            return budget.inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int waiting(Budget budget) {
+        lock.lock();
+        try {
+            return budget.waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Orçamento de uma classe de endpoint; contadores protegidos pelo lock do controlador
+     */
+    private final class Budget {
+
+        private final EndpointClass endpoint;
+        private final int maxConcurrent;
+        private final int maxQueue;
+        private final Duration maxWait;
+        private final Condition available = lock.newCondition();
+        private int inFlight;
+        private int waiting;
+
+        private final Counter rejectedQueueFull;
+        private final Counter rejectedTimeout;
+        private final Counter rejectedChannel;
+        private final Timer queueWait;
+
+        Budget(EndpointClass endpoint, int maxConcurrent, int maxQueue, Duration maxWait, MeterRegistry meterRegistry) {
+            this.endpoint = endpoint;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.maxWait = maxWait;
+
+            String tag = endpoint.tag();
+            Gauge.builder("admission.inflight", this, AdmissionController.this::inFlight)
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            Gauge.builder("admission.queue", this, AdmissionController.this::waiting)
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            Gauge.builder("admission.limit", this, budget -> budget.maxConcurrent)
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            this.rejectedQueueFull = Counter.builder("admission.rejected")
+                    .tags("endpoint", tag, "reason", "queue-full").register(meterRegistry);
+            this.rejectedTimeout = Counter.builder("admission.rejected")
+                    .tags("endpoint", tag, "reason", "timeout").register(meterRegistry);
+            this.rejectedChannel = Counter.builder("admission.rejected")
+                    .tags("endpoint", tag, "reason", "channel-quota").register(meterRegistry);
+            this.queueWait = Timer.builder("admission.queue.wait")
+                    .description("Tempo de espera na fila de admissão")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Permissão de uma requisição admitida; devolvida uma única vez
+     */
+    public final class Permit {
+
+        private final Budget budget;
+        private final AtomicInteger channelCounter;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Budget budget, AtomicInteger channelCounter) {
+            this.budget = budget;
+            this.channelCounter = channelCounter;
+        }
+
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (channelCounter != null) {
+                channelCounter.decrementAndGet();
+            }
+            AdmissionController.this.release(budget);
+        }
+    }
+}
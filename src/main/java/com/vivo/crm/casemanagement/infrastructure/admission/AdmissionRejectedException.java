@@ -0,0 +1,28 @@
+package com.vivo.crm.casemanagement.infrastructure.admission;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Requisição recusada pelo controle de admissão (429 ou 503, sempre com Retry-After)
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(HttpStatus status, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
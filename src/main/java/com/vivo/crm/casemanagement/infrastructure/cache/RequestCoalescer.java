@@ -0,0 +1,97 @@
+package com.vivo.crm.casemanagement.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa cargas concorrentes da mesma chave em um único Mono em andamento (single-flight)
+ *
+ * O primeiro assinante (leader) dispara a carga; os demais (joined) recebem o mesmo resultado.
+ * Após o sucesso o resultado continua compartilhado por um TTL curto; erros e vazios são descartados na hora.
+ *
+ * Métricas: {name}.coalescing{result=leader|joined} e {name}.coalescing.inflight
+ */
+public class RequestCoalescer<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+
+    private final Counter leaders;
+    private final Counter joined;
+
+    public RequestCoalescer(String name, Duration ttl, MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.leaders = Counter.builder(name + ".coalescing").tag("result", "leader").register(meterRegistry);
+        this.joined = Counter.builder(name + ".coalescing").tag("result", "joined").register(meterRegistry);
+        Gauge.builder(name + ".coalescing.inflight", entries, Map::size).register(meterRegistry);
+    }
+
+    public Mono<V> coalesce(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Entry<V> created = new Entry<>(entry -> Mono.defer(loader)
+                    .doOnNext(value -> entry.markValue())
+                    .doFinally(signal -> release(key, entry, signal))
+                    .cache());
+
+            Entry<V> current = entries.putIfAbsent(key, created);
+            if (current == null) {
+                leaders.increment();
+                return created.result();
+            }
+            joined.increment();
+            return current.result();
+        });
+    }
+
+    /**
+     * Descarta o resultado compartilhado (ex.: após alteração do ticket)
+     * Cargas já em andamento seguem para quem já as assinou
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    private void release(K key, Entry<V> entry, SignalType signal) {
+        if (signal == SignalType.ON_COMPLETE && !ttl.isZero() && entry.hasValue()) {
+            Schedulers.parallel().schedule(() -> entries.remove(key, entry), ttl.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            entries.remove(key, entry);
+        }
+    }
+
+    /**
+     * Mono cacheado de uma carga; recebe a própria entrada para se remover do mapa ao terminar
+     */
+    private static final class Entry<V> {
+
+        private final Mono<V> result;
+        private volatile boolean hasValue;
+
+        Entry(Function<Entry<V>, Mono<V>> factory) {
+            this.result = factory.apply(this);
+        }
+
+        Mono<V> result() {
+            return result;
+        }
+
+        void markValue() {
+            hasValue = true;
+        }
+
+        boolean hasValue() {
+            return hasValue;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.vivo.crm.casemanagement.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache read-through de tickets por protocolo em dois níveis:
+ * near cache local (Caffeine, TTL curto) na frente do Redis (compartilhado entre nós, TTL maior)
+ *
+ * Falhas do Redis nunca quebram a leitura: são contadas e tratadas como miss
+ * Leituras concorrentes do mesmo protocolo que não acham o ticket no near cache
+ * compartilham uma única ida ao Redis/banco (RequestCoalescer)
+ *
+ * Cada invalidate avança a geração do protocolo, no nó (near cache) e no Redis (INCR em {protocolo}:gen).
+ * Uma carga só grava o resultado se a geração ainda for a lida antes dela: a leitura do banco que
+ * disputou com uma alteração não devolve o ticket antigo ao cache depois da invalidação.
+ */
+@Component
+@Slf4j
+public class TicketCache {
+
+    private static final String KEY_PREFIX = "troubleTicket:";
+    // Geração desconhecida (falha ao ler o Redis): a carga não grava no Redis
+    private static final String UNKNOWN_GENERATION = "?";
+
+    // Grava o ticket só se a geração não mudou desde a leitura (KEYS: valor, geração; ARGV: geração lida, json, ttl ms)
+    private static final RedisScript<Long> SET_IF_GENERATION = RedisScript.of("""
+            if (redis.call('GET', KEYS[2]) or '') == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0""", Long.class);
+
+    // Avança a geração e remove o ticket (KEYS: valor, geração; ARGV: ttl ms da geração)
+    private static final RedisScript<Long> INVALIDATE = RedisScript.of("""
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])""", Long.class);
+
+    private final boolean enabled;
+    private final Cache<String, TroubleTicketResponse> nearCache;
+    // Invalidações por protocolo neste nó; retidas mais que qualquer carga em andamento
+    private final Cache<String, Long> generations;
+    private final ReactiveStringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final Duration redisTtl;
+    private final Duration redisTimeout;
+    private final RequestCoalescer<String, TroubleTicketResponse> coalescer;
+
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+
+    public TicketCache(
+            ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${cache.tickets.enabled:true}") boolean enabled,
+            @Value("${cache.tickets.near.max-size:10000}") long nearMaxSize,
+            @Value("${cache.tickets.near.ttl:5s}") Duration nearTtl,
+            @Value("${cache.tickets.redis.enabled:false}") boolean redisEnabled,
+            @Value("${cache.tickets.redis.ttl:10m}") Duration redisTtl,
+            @Value("${cache.tickets.redis.timeout:200ms}") Duration redisTimeout,
+            @Value("${cache.tickets.coalescing.ttl:100ms}") Duration coalescingTtl) {
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+        this.redis = redisEnabled ? redisTemplate.getIfAvailable() : null;
+        this.redisTtl = redisTtl;
+        this.redisTimeout = redisTimeout;
+
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfterWrite(nearTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "tickets.near");
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfterWrite(redisTtl)
+                .build();
+
+        this.redisHits = Counter.builder("tickets.cache.redis").tag("result", "hit").register(meterRegistry);
+        this.redisMisses = Counter.builder("tickets.cache.redis").tag("result", "miss").register(meterRegistry);
+        this.redisErrors = Counter.builder("tickets.cache.redis").tag("result", "error").register(meterRegistry);
+
+        this.coalescer = new RequestCoalescer<>("tickets", coalescingTtl, meterRegistry);
+
+        log.info("🗄️ Cache de tickets: enabled={}, nearTtl={}, redis={}, coalescingTtl={}",
+                enabled, nearTtl, this.redis != null, coalescingTtl);
+    }
+
+    /**
+     * Busca no near cache, depois no Redis e, por fim, no loader (banco), populando os níveis acima
+     */
+    public Mono<TroubleTicketResponse> get(String protocol, Supplier<Mono<TroubleTicketResponse>> loader) {
+        if (!enabled) {
+            return coalescer.coalesce(protocol, loader);
+        }
+
+        TroubleTicketResponse cached = nearCache.getIfPresent(protocol);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return coalescer.coalesce(protocol, () -> {
+            Long generation = generations.getIfPresent(protocol);
+            return readRedis(protocol).flatMap(lookup -> lookup.response() != null
+                    ? Mono.just(lookup.response()).doOnNext(response -> putNear(protocol, response, generation))
+                    : loader.get().doOnNext(response -> {
+                        putNear(protocol, response, generation);
+                        writeRedis(protocol, response, lookup.generation());
+                    }));
+        });
+    }
+
+    /**
+     * Remove o ticket dos dois níveis (chamado após alterações locais ou vindas do Salesforce)
+     * Near caches de outros nós expiram pelo TTL curto
+     */
+    public void invalidate(String protocol) {
+        if (protocol == null) {
+            return;
+        }
+        coalescer.invalidate(protocol);
+        if (!enabled) {
+            return;
+        }
+        generations.asMap().merge(protocol, 1L, Long::sum);
+        nearCache.invalidate(protocol);
+        if (redis != null) {
+            redis.execute(INVALIDATE, List.of(valueKey(protocol), generationKey(protocol)),
+                            List.of(String.valueOf(redisTtl.toMillis())))
+                    .next()
+                    .timeout(redisTimeout)
+                    .subscribe(deleted -> { }, error -> {
+                        redisErrors.increment();
+                        log.warn("⚠️ Falha ao invalidar ticket no Redis: protocol={}, erro={}", protocol, error.getMessage());
+                    });
+        }
+    }
+
+    /**
+     * Grava no near cache se nenhuma invalidação local aconteceu desde o início da carga
+     */
+    private void putNear(String protocol, TroubleTicketResponse response, Long generation) {
+        nearCache.asMap().compute(protocol, (key, current) ->
+                Objects.equals(generations.getIfPresent(protocol), generation) ? response : current);
+    }
+
+    /**
+     * Ticket (null no miss) e a geração lida junto, usada para condicionar a gravação após a carga
+     */
+    private record RedisLookup(TroubleTicketResponse response, String generation) {
+    }
+
+    private Mono<RedisLookup> readRedis(String protocol) {
+        if (redis == null) {
+            return Mono.just(new RedisLookup(null, UNKNOWN_GENERATION));
+        }
+        // Dois GETs na mesma conexão (pipeline do Lettuce); chave ausente vira "" para o zip
+        return Mono.zip(redis.opsForValue().get(valueKey(protocol)).defaultIfEmpty(""),
+                        redis.opsForValue().get(generationKey(protocol)).defaultIfEmpty(""))
+                .timeout(redisTimeout)
+                .map(values -> {
+                    if (values.getT1().isEmpty()) {
+                        redisMisses.increment();
+                        return new RedisLookup(null, values.getT2());
+                    }
+                    redisHits.increment();
+                    return new RedisLookup(deserialize(values.getT1()), values.getT2());
+                })
+                .onErrorResume(error -> {
+                    redisErrors.increment();
+                    log.warn("⚠️ Falha ao ler ticket do Redis: protocol={}, erro={}", protocol, error.getMessage());
+                    return Mono.just(new RedisLookup(null, UNKNOWN_GENERATION));
+                });
+    }
+
+    private void writeRedis(String protocol, TroubleTicketResponse response, String generation) {
+        if (redis == null || UNKNOWN_GENERATION.equals(generation)) {
+            return;
+        }
+        redis.execute(SET_IF_GENERATION, List.of(valueKey(protocol), generationKey(protocol)),
+                        List.of(generation, serialize(response), String.valueOf(redisTtl.toMillis())))
+                .next()
+                .timeout(redisTimeout)
+                .subscribe(stored -> { }, error -> {
+                    redisErrors.increment();
+                    log.warn("⚠️ Falha ao gravar ticket no Redis: protocol={}, erro={}", protocol, error.getMessage());
+                });
+    }
+
+    // Hash tag: valor e geração no mesmo slot do Redis Cluster (exigido pelos scripts)
+    private static String valueKey(String protocol) {
+        return KEY_PREFIX + "{" + protocol + "}";
+    }
+
+    private static String generationKey(String protocol) {
+        return KEY_PREFIX + "{" + protocol + "}:gen";
+    }
+
+    private String serialize(TroubleTicketResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar ticket " + response.getId(), e);
+        }
+    }
+
+    private TroubleTicketResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, TroubleTicketResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao desserializar ticket do Redis", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.vivo.crm.casemanagement.infrastructure.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Configuração do cliente HTTP do Genesys
+ *
+ * Pool de conexões próprio (adapters.genesys.pool.*): uma lentidão no roteamento não consome
+ * conexões do Salesforce e vice-versa. Métricas em reactor.netty.connection.provider{name=genesys}.
+ */
+@Configuration
+@Slf4j
+public class GenesysClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider genesysConnectionProvider(
+            @Value("${adapters.genesys.pool.max-connections:32}") int maxConnections,
+            @Value("${adapters.genesys.pool.pending-acquire-max-count:256}") int pendingAcquireMaxCount,
+            @Value("${adapters.genesys.pool.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${adapters.genesys.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${adapters.genesys.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${adapters.genesys.pool.evict-in-background:60s}") Duration evictInBackground) {
+
+        log.info("🔌 Pool Genesys: maxConnections={}, pendingAcquireMaxCount={}, maxIdleTime={}",
+                maxConnections, pendingAcquireMaxCount, maxIdleTime);
+
+        return ConnectionProvider.builder("genesys")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient genesysWebClient(
+            WebClient.Builder builder,
+            @Qualifier("genesysConnectionProvider") ConnectionProvider genesysConnectionProvider,
+            @Value("${adapters.genesys.base-url}") String baseUrl,
+            @Value("${adapters.genesys.timeout:30s}") Duration responseTimeout,
+            @Value("${adapters.genesys.connect-timeout:5s}") Duration connectTimeout) {
+
+        // URI fixa (/api/v2/routing/conversations): não há IDs a normalizar nas tags
+        HttpClient httpClient = HttpClient.create(genesysConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout)
+                .metrics(true, Function.identity());
+
+        if (baseUrl.startsWith("https")) {
+            httpClient = httpClient.secure();
+        }
+
+        log.info("🌐 WebClient Genesys: baseUrl={}, connectTimeout={}, responseTimeout={}",
+                baseUrl, connectTimeout, responseTimeout);
+
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
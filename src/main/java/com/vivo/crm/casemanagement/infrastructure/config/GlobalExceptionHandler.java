@@ -1,9 +1,16 @@
 package com.vivo.crm.casemanagement.infrastructure.config;
 
 import com.vivo.crm.casemanagement.application.service.CaseService;
+import com.vivo.crm.casemanagement.domain.model.InvalidEnumValueException;
+import com.vivo.crm.casemanagement.domain.model.InvalidRequestException;
+import com.vivo.crm.casemanagement.infrastructure.idempotency.IdempotencyKeyConflictException;
+import com.vivo.crm.casemanagement.infrastructure.idempotency.IdempotencyKeyInProgressException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.support.WebExchangeBindException;
@@ -28,7 +35,17 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(WebExchangeBindException.class)
     public ResponseEntity<Map<String, Object>> handleValidationErrors(WebExchangeBindException ex) {
-        String errors = ex.getBindingResult().getFieldErrors().stream()
+        return validationError(ex.getBindingResult());
+    }
+
+    // @Valid @RequestBody no runtime MVC (Tomcat)
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, Object>> handleArgumentNotValid(MethodArgumentNotValidException ex) {
+        return validationError(ex.getBindingResult());
+    }
+
+    private ResponseEntity<Map<String, Object>> validationError(BindingResult bindingResult) {
+        String errors = bindingResult.getFieldErrors().stream()
                 .map(error -> error.getField() + ": " + error.getDefaultMessage())
                 .collect(Collectors.joining(", "));
         
@@ -36,6 +53,28 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, errors);
     }
 
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyConflict(IdempotencyKeyConflictException ex) {
+        log.warn("Conflito de idempotência: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyInProgress(IdempotencyKeyInProgressException ex) {
+        log.warn("Idempotência em andamento: {}", ex.getMessage());
+        ResponseEntity<Map<String, Object>> response = buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    // Só erros de entrada da API: IllegalArgumentException de bibliotecas ou do próprio código é erro interno
+    @ExceptionHandler({InvalidRequestException.class, InvalidEnumValueException.class})
+    public ResponseEntity<Map<String, Object>> handleInvalidRequest(RuntimeException ex) {
+        log.warn("Requisição inválida: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         log.error("Erro interno: ", ex);
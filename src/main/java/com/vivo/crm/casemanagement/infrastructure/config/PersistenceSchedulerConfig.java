@@ -0,0 +1,41 @@
+package com.vivo.crm.casemanagement.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Configuração do scheduler onde rodam as chamadas bloqueantes de JPA/JDBC
+ *
+ * Modos (persistence.scheduler.mode):
+ * - bounded-elastic: pool limitado de threads de plataforma com fila limitada (padrão)
+ * - virtual-threads: uma virtual thread por chamada (Java 21)
+ * - immediate: executa na thread de quem assinou (comportamento legado, apenas para comparação)
+ */
+@Configuration
+@Slf4j
+public class PersistenceSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler persistenceScheduler(
+            @Value("${persistence.scheduler.mode:bounded-elastic}") String mode,
+            @Value("${persistence.scheduler.max-threads:20}") int maxThreads,
+            @Value("${persistence.scheduler.queue-size:10000}") int queueSize) {
+
+        log.info("🧵 Scheduler de persistência: mode={}, maxThreads={}, queueSize={}", mode, maxThreads, queueSize);
+
+        return switch (mode) {
+            case "virtual-threads" -> Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("persistence-vt-", 0).factory()),
+                    "persistence-vt");
+            case "immediate" -> Schedulers.immediate();
+            case "bounded-elastic" -> Schedulers.newBoundedElastic(maxThreads, queueSize, "persistence");
+            default -> throw new IllegalArgumentException("persistence.scheduler.mode inválido: " + mode);
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.vivo.crm.casemanagement.infrastructure.config;
+
+import com.vivo.crm.casemanagement.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Configuração do cliente HTTP do Salesforce
+ *
+ * - Pool de conexões dedicado e limitado (adapters.salesforce.pool.*)
+ * - Timeouts reais de conexão e resposta (adapters.salesforce.timeout)
+ * - HTTP/2 negociado via ALPN quando a base-url é https
+ * - Métricas do pool (reactor.netty.connection.provider.*) e das requisições
+ *   (reactor.netty.http.client.*, http.client.requests) no Micrometer
+ * - Limite de concorrência adaptativo (adapters.salesforce.limiter.*), ajustado pela latência observada
+ */
+@Configuration
+@Slf4j
+public class SalesforceClientConfig {
+
+    /**
+     * IDs do Salesforce têm 15 ou 18 caracteres alfanuméricos; viram {id} nas tags de URI
+     * para não explodir a cardinalidade das métricas
+     */
+    private static final Pattern SALESFORCE_ID = Pattern.compile("/[a-zA-Z0-9]{15}(?:[a-zA-Z0-9]{3})?(?=/|$|\\?)");
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider salesforceConnectionProvider(
+            @Value("${adapters.salesforce.pool.max-connections:100}") int maxConnections,
+            @Value("${adapters.salesforce.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${adapters.salesforce.pool.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${adapters.salesforce.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${adapters.salesforce.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${adapters.salesforce.pool.evict-in-background:60s}") Duration evictInBackground) {
+
+        log.info("🔌 Pool Salesforce: maxConnections={}, pendingAcquireMaxCount={}, maxIdleTime={}",
+                maxConnections, pendingAcquireMaxCount, maxIdleTime);
+
+        return ConnectionProvider.builder("salesforce")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient salesforceWebClient(
+            WebClient.Builder builder,
+            @Qualifier("salesforceConnectionProvider") ConnectionProvider salesforceConnectionProvider,
+            @Value("${adapters.salesforce.base-url}") String baseUrl,
+            @Value("${adapters.salesforce.timeout:30s}") Duration responseTimeout,
+            @Value("${adapters.salesforce.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${adapters.salesforce.http2-enabled:true}") boolean http2Enabled) {
+
+        // HTTP/2 sem TLS (h2c) não é suportado pelo Salesforce: só negocia h2 em https
+        HttpProtocol[] protocols = http2Enabled && baseUrl.startsWith("https")
+                ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                : new HttpProtocol[]{HttpProtocol.HTTP11};
+
+        HttpClient httpClient = HttpClient.create(salesforceConnectionProvider)
+                .protocol(protocols)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout)
+                .metrics(true, SalesforceClientConfig::uriTemplate);
+
+        if (baseUrl.startsWith("https")) {
+            httpClient = httpClient.secure();
+        }
+
+        log.info("🌐 WebClient Salesforce: baseUrl={}, protocols={}, connectTimeout={}, responseTimeout={}",
+                baseUrl, Arrays.toString(protocols), connectTimeout, responseTimeout);
+
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter salesforceConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${adapters.salesforce.limiter.initial-limit:20}") int initialLimit,
+            @Value("${adapters.salesforce.limiter.min-limit:2}") int minLimit,
+            @Value("${adapters.salesforce.limiter.max-limit:80}") int maxLimit,
+            @Value("${adapters.salesforce.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${adapters.salesforce.limiter.latency-threshold:2s}") Duration latencyThreshold,
+            @Value("${adapters.salesforce.limiter.max-queue:200}") int maxQueue,
+            @Value("${adapters.salesforce.limiter.max-wait:5s}") Duration maxWait) {
+
+        log.info("🚦 Limitador Salesforce: limit={} ({}-{}), latencyThreshold={}, maxQueue={}, maxWait={}",
+                initialLimit, minLimit, maxLimit, latencyThreshold, maxQueue, maxWait);
+
+        return new AdaptiveConcurrencyLimiter("salesforce", initialLimit, minLimit, maxLimit, backoffRatio,
+                latencyThreshold, maxQueue, maxWait, meterRegistry);
+    }
+
+    static String uriTemplate(String uri) {
+        int query = uri.indexOf('?');
+        String path = query >= 0 ? uri.substring(0, query) : uri;
+        return SALESFORCE_ID.matcher(path).replaceAll("/{id}");
+    }
+}
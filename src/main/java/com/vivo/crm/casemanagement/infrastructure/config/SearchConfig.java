@@ -0,0 +1,37 @@
+package com.vivo.crm.casemanagement.infrastructure.config;
+
+import com.vivo.crm.casemanagement.infrastructure.search.CaseSearchIndex;
+import com.vivo.crm.casemanagement.infrastructure.search.PortugueseTextAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuração do índice de busca textual dos tickets
+ *
+ * Sem search.index.path o índice fica em memória (adequado ao H2 em memória do ambiente local);
+ * com path, em disco (MMapDirectory) e reaproveitado entre reinícios.
+ */
+@Configuration
+@Slf4j
+public class SearchConfig {
+
+    @Bean(destroyMethod = "close")
+    public CaseSearchIndex caseSearchIndex(
+            @Value("${search.index.path:}") String path,
+            @Value("${search.index.ram-buffer-mb:64}") double ramBufferMb) throws IOException {
+
+        Directory directory = path.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(path));
+
+        log.info("🔎 Índice de busca: {}, ramBufferMb={}", path.isBlank() ? "memória" : path, ramBufferMb);
+
+        return new CaseSearchIndex(directory, new PortugueseTextAnalyzer(), ramBufferMb);
+    }
+}
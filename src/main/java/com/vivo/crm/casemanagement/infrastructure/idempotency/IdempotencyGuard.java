@@ -0,0 +1,179 @@
+package com.vivo.crm.casemanagement.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vivo.crm.casemanagement.domain.model.InvalidRequestException;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Executa uma criação no máximo uma vez por Idempotency-Key
+ *
+ * - A chave é reservada no store (SET NX com marcador pendente) antes de executar a ação
+ * - Chave já concluída: devolve a resposta armazenada sem tocar banco nem Salesforce
+ * - Chave em andamento neste nó: a requisição duplicada assina o mesmo Mono pendente
+ * - Chave reservada por outro nó: aguarda o resultado até pending-wait; depois, IdempotencyKeyInProgressException (409)
+ * - Mesma chave com outro corpo: IdempotencyKeyConflictException (422)
+ *
+ * Falhas não são armazenadas: a reserva é liberada e a chave fica livre para uma nova tentativa
+ */
+@Component
+@Slf4j
+public class IdempotencyGuard {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration pendingTtl;
+    private final Duration pendingWait;
+    private final Duration pollInterval;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter coalesced;
+    private final Counter conflicts;
+
+    public IdempotencyGuard(
+            IdempotencyStore store,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.enabled:true}") boolean enabled,
+            @Value("${idempotency.pending.ttl:60s}") Duration pendingTtl,
+            @Value("${idempotency.pending.wait:5s}") Duration pendingWait,
+            @Value("${idempotency.pending.poll-interval:100ms}") Duration pollInterval) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.pendingTtl = pendingTtl;
+        this.pendingWait = pendingWait;
+        this.pollInterval = pollInterval;
+
+        this.executed = Counter.builder("idempotency.requests").tag("result", "executed").register(meterRegistry);
+        this.replayed = Counter.builder("idempotency.requests").tag("result", "replayed").register(meterRegistry);
+        this.coalesced = Counter.builder("idempotency.requests").tag("result", "coalesced").register(meterRegistry);
+        this.conflicts = Counter.builder("idempotency.requests").tag("result", "conflict").register(meterRegistry);
+    }
+
+    /**
+     * @param key     valor do header Idempotency-Key (null executa a ação normalmente)
+     * @param request corpo da requisição, usado no fingerprint
+     * @param action  criação propriamente dita
+     */
+    public Mono<IdempotentResult> execute(String key, Object request, Supplier<Mono<TroubleTicketResponse>> action) {
+        if (!enabled || key == null) {
+            return action.get().map(response -> new IdempotentResult(response, false));
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new InvalidRequestException(
+                    "Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres"));
+        }
+
+        String fingerprint = fingerprint(request);
+
+        InFlight created = new InFlight(fingerprint, entry -> store.reserve(key, IdempotentRecord.pending(fingerprint), pendingTtl)
+                .flatMap(record -> record.isPending()
+                        ? awaitOther(key, fingerprint, record)
+                        : replay(key, fingerprint, record))
+                .switchIfEmpty(Mono.defer(() -> action.get()
+                        .flatMap(response -> store.save(key, new IdempotentRecord(fingerprint, response))
+                                .doOnSuccess(v -> executed.increment())
+                                .thenReturn(new IdempotentResult(response, false)))
+                        .onErrorResume(error -> store.release(key).then(Mono.error(error)))))
+                .doFinally(signal -> inFlight.remove(key, entry))
+                .cache());
+
+        InFlight current = inFlight.putIfAbsent(key, created);
+        if (current == null) {
+            return created.result();
+        }
+        if (!current.fingerprint().equals(fingerprint)) {
+            conflicts.increment();
+            return Mono.error(new IdempotencyKeyConflictException(key));
+        }
+        coalesced.increment();
+        log.info("🔁 Requisição duplicada em andamento, aguardando a original: key={}", key);
+        return current.result().map(result -> new IdempotentResult(result.response(), true));
+    }
+
+    /**
+     * Chave reservada por outro nó: consulta o store até o resultado aparecer ou pending-wait esgotar
+     */
+    private Mono<IdempotentResult> awaitOther(String key, String fingerprint, IdempotentRecord pending) {
+        if (!pending.fingerprint().equals(fingerprint)) {
+            conflicts.increment();
+            return Mono.error(new IdempotencyKeyConflictException(key));
+        }
+        log.info("🔁 Idempotency-Key em processamento em outro nó, aguardando: key={}", key);
+        return Mono.defer(() -> store.find(key))
+                .filter(record -> !record.isPending())
+                .repeatWhenEmpty(attempts -> attempts.delayElements(pollInterval))
+                .timeout(pendingWait, Mono.error(() -> new IdempotencyKeyInProgressException(key)))
+                .flatMap(record -> replay(key, fingerprint, record));
+    }
+
+    private Mono<IdempotentResult> replay(String key, String fingerprint, IdempotentRecord record) {
+        if (!record.fingerprint().equals(fingerprint)) {
+            conflicts.increment();
+            return Mono.error(new IdempotencyKeyConflictException(key));
+        }
+        replayed.increment();
+        log.info("🔁 Idempotency-Key já processada, devolvendo resposta original: key={}, id={}",
+                key, record.response().getId());
+        return Mono.just(new IdempotentResult(record.response(), true));
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Falha ao calcular fingerprint da requisição", e);
+        }
+    }
+
+    /**
+     * Entrada do mapa de requisições em andamento
+     * O Mono (cacheado) recebe a própria entrada para se remover do mapa ao terminar
+     */
+    private static final class InFlight {
+
+        private final String fingerprint;
+        private final Mono<IdempotentResult> result;
+
+        InFlight(String fingerprint, Function<InFlight, Mono<IdempotentResult>> factory) {
+            this.fingerprint = fingerprint;
+            this.result = factory.apply(this);
+        }
+
+        String fingerprint() {
+            return fingerprint;
+        }
+
+        Mono<IdempotentResult> result() {
+            return result;
+        }
+    }
+
+    /**
+     * @param replayed true quando a resposta é de uma execução anterior ou em andamento (requisição repetida)
+     */
+    public record IdempotentResult(TroubleTicketResponse response, boolean replayed) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.vivo.crm.casemanagement.infrastructure.idempotency;
+
+/**
+ * Chave de idempotência reutilizada com um corpo de requisição diferente do original
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String key) {
+        super("Idempotency-Key '" + key + "' já foi usada com outro corpo de requisição");
+    }
+}
@@ -0,0 +1,11 @@
+package com.vivo.crm.casemanagement.infrastructure.idempotency;
+
+/**
+ * Chave de idempotência reservada por uma execução que ainda não terminou (em outro nó)
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String key) {
+        super("Idempotency-Key '" + key + "' ainda está em processamento; tente novamente em instantes");
+    }
+}
@@ -0,0 +1,37 @@
+package com.vivo.crm.casemanagement.infrastructure.idempotency;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Armazenamento com TTL dos resultados já produzidos por chave de idempotência
+ *
+ * Implementações (idempotency.store):
+ * - memory: Caffeine local, suficiente para um único nó
+ * - redis: compartilhado entre as instâncias do cluster
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Resultado armazenado para a chave, ou vazio se a chave nunca foi vista (ou expirou)
+     */
+    Mono<IdempotentRecord> find(String key);
+
+    /**
+     * Reserva a chave atomicamente (SET NX) com um marcador pendente que expira em pendingTtl
+     *
+     * @return vazio se a reserva foi feita por esta chamada; senão o registro existente (pendente ou concluído)
+     */
+    Mono<IdempotentRecord> reserve(String key, IdempotentRecord pending, Duration pendingTtl);
+
+    /**
+     * Armazena o resultado da primeira execução da chave, substituindo o marcador pendente
+     */
+    Mono<Void> save(String key, IdempotentRecord record);
+
+    /**
+     * Libera a reserva após uma falha, deixando a chave livre para nova tentativa
+     */
+    Mono<Void> release(String key);
+}
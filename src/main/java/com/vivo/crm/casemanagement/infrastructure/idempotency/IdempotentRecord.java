@@ -0,0 +1,25 @@
+package com.vivo.crm.casemanagement.infrastructure.idempotency;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+
+/**
+ * Resultado armazenado de uma criação idempotente
+ *
+ * @param fingerprint hash do corpo da requisição original, para detectar reuso da chave com outro payload
+ * @param response    resposta devolvida na primeira execução; null enquanto a chave está reservada (em andamento)
+ */
+public record IdempotentRecord(String fingerprint, TroubleTicketResponse response) {
+
+    /**
+     * Marcador gravado antes de executar a ação, para que outro nó não execute a mesma chave
+     */
+    public static IdempotentRecord pending(String fingerprint) {
+        return new IdempotentRecord(fingerprint, null);
+    }
+
+    @JsonIgnore
+    public boolean isPending() {
+        return response == null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.vivo.crm.casemanagement.infrastructure.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Store de idempotência local (Caffeine), para execução em um único nó
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, TimedRecord> records;
+    private final Duration ttl;
+
+    public InMemoryIdempotencyStore(
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.max-keys:100000}") long maxKeys) {
+        this.ttl = ttl;
+        this.records = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                // Marcador pendente expira em pendingTtl; resultado concluído, em ttl
+                .expireAfter(new Expiry<String, TimedRecord>() {
+                    @Override
+                    public long expireAfterCreate(String key, TimedRecord timed, long currentTime) {
+                        return timed.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TimedRecord timed, long currentTime, long currentDuration) {
+                        return timed.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TimedRecord timed, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, records, "idempotency.keys");
+
+        log.info("🔑 Store de idempotência em memória: ttl={}, maxKeys={}", ttl, maxKeys);
+    }
+
+    @Override
+    public Mono<IdempotentRecord> find(String key) {
+        return Mono.fromSupplier(() -> {
+            TimedRecord timed = records.getIfPresent(key);
+            return timed == null ? null : timed.record();
+        });
+    }
+
+    @Override
+    public Mono<IdempotentRecord> reserve(String key, IdempotentRecord pending, Duration pendingTtl) {
+        return Mono.fromSupplier(() -> {
+            TimedRecord existing = records.asMap().putIfAbsent(key, new TimedRecord(pending, pendingTtl));
+            return existing == null ? null : existing.record();
+        });
+    }
+
+    @Override
+    public Mono<Void> save(String key, IdempotentRecord record) {
+        return Mono.fromRunnable(() -> records.put(key, new TimedRecord(record, ttl)));
+    }
+
+    @Override
+    public Mono<Void> release(String key) {
+        return Mono.fromRunnable(() -> records.asMap().computeIfPresent(key,
+                (k, timed) -> timed.record().isPending() ? null : timed));
+    }
+
+    private record TimedRecord(IdempotentRecord record, Duration ttl) {
+    }
+}
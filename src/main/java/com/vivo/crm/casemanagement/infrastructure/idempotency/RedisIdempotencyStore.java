@@ -0,0 +1,116 @@
+package com.vivo.crm.casemanagement.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Store de idempotência no Redis, compartilhado entre os nós do cluster
+ *
+ * A chave é reservada com SET NX antes da criação, então duas tentativas em nós diferentes não criam dois casos
+ * Falhas do Redis não bloqueiam a criação (fail-open): são contadas e tratadas como chave inexistente
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "redis")
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private final ReactiveStringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration timeout;
+    private final Counter errors;
+
+    public RedisIdempotencyStore(
+            ReactiveStringRedisTemplate redis,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.redis.timeout:200ms}") Duration timeout) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.timeout = timeout;
+        this.errors = Counter.builder("idempotency.store.errors").register(meterRegistry);
+
+        log.info("🔑 Store de idempotência no Redis: ttl={}, timeout={}", ttl, timeout);
+    }
+
+    @Override
+    public Mono<IdempotentRecord> find(String key) {
+        return redis.opsForValue().get(KEY_PREFIX + key)
+                .timeout(timeout)
+                .map(this::deserialize)
+                .onErrorResume(error -> {
+                    errors.increment();
+                    log.warn("⚠️ Falha ao ler chave de idempotência do Redis: key={}, erro={}", key, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<IdempotentRecord> reserve(String key, IdempotentRecord pending, Duration pendingTtl) {
+        return redis.opsForValue().setIfAbsent(KEY_PREFIX + key, serialize(pending), pendingTtl)
+                .timeout(timeout)
+                .flatMap(reserved -> reserved
+                        ? Mono.<IdempotentRecord>empty()
+                        // Chave já existe: devolve o registro (se expirou entre o SET NX e o GET, segue sem reserva)
+                        : find(key))
+                .onErrorResume(error -> {
+                    errors.increment();
+                    log.warn("⚠️ Falha ao reservar chave de idempotência no Redis: key={}, erro={}", key, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Void> release(String key) {
+        return redis.delete(KEY_PREFIX + key)
+                .timeout(timeout)
+                .onErrorResume(error -> {
+                    errors.increment();
+                    log.warn("⚠️ Falha ao liberar chave de idempotência no Redis: key={}, erro={}", key, error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Void> save(String key, IdempotentRecord record) {
+        return redis.opsForValue().set(KEY_PREFIX + key, serialize(record), ttl)
+                .timeout(timeout)
+                .onErrorResume(error -> {
+                    errors.increment();
+                    log.warn("⚠️ Falha ao gravar chave de idempotência no Redis: key={}, erro={}", key, error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private String serialize(IdempotentRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resultado idempotente", e);
+        }
+    }
+
+    private IdempotentRecord deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotentRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao desserializar resultado idempotente do Redis", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.vivo.crm.casemanagement.infrastructure.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Identificador de correlação da requisição (header X-Correlation-Id)
+ *
+ * Reaproveita o valor recebido do chamador quando válido, ou gera um novo; devolve no header da resposta
+ * e o coloca no MDC, de onde segue para os logs de todo o pipeline (ver LogContext)
+ * Executa antes do controle de admissão para que as recusas também sejam correlacionáveis
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+
+    private static final String ATTRIBUTE = CorrelationIdFilter.class.getName() + ".id";
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // O dispatch assíncrono (conclusão do Mono) também loga com o mesmo ID
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String correlationId = (String) request.getAttribute(ATTRIBUTE);
+        if (correlationId == null) {
+            correlationId = resolve(request.getHeader(HEADER));
+            request.setAttribute(ATTRIBUTE, correlationId);
+            response.setHeader(HEADER, correlationId);
+        }
+
+        MDC.put(LogContext.CORRELATION_ID, correlationId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(LogContext.CORRELATION_ID);
+        }
+    }
+
+    private static String resolve(String received) {
+        return received != null && VALID_ID.matcher(received).matches() ? received : UUID.randomUUID().toString();
+    }
+}
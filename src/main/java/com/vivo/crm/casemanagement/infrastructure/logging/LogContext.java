@@ -0,0 +1,28 @@
+package com.vivo.crm.casemanagement.infrastructure.logging;
+
+import reactor.util.context.Context;
+
+import java.util.function.Function;
+
+/**
+ * Chaves de MDC incluídas nos logs estruturados
+ *
+ * Os valores seguem os pipelines Reactor entre threads: o contexto da requisição é capturado pelo
+ * Spring MVC (ThreadLocal -> Reactor Context) e restaurado no MDC a cada operador
+ * (spring.reactor.context-propagation=auto, ver MdcContextPropagationConfig)
+ */
+public final class LogContext {
+
+    public static final String CORRELATION_ID = "correlationId";
+    public static final String PROTOCOL = "protocol";
+
+    private LogContext() {
+    }
+
+    /**
+     * Inclui o protocolo do ticket nos logs do pipeline: {@code mono.contextWrite(LogContext.protocol(id))}
+     */
+    public static Function<Context, Context> protocol(String protocol) {
+        return context -> protocol == null ? context : context.put(PROTOCOL, protocol);
+    }
+}
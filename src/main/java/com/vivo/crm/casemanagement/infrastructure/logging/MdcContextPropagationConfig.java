@@ -0,0 +1,27 @@
+package com.vivo.crm.casemanagement.infrastructure.logging;
+
+import io.micrometer.context.ContextRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra as chaves de MDC como ThreadLocals propagáveis (micrometer context-propagation)
+ * Com spring.reactor.context-propagation=auto, o Reactor restaura esses valores em cada troca de thread
+ */
+@Configuration
+public class MdcContextPropagationConfig {
+
+    @PostConstruct
+    void registerMdcAccessors() {
+        register(LogContext.CORRELATION_ID);
+        register(LogContext.PROTOCOL);
+    }
+
+    private static void register(String key) {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(key,
+                () -> MDC.get(key),
+                value -> MDC.put(key, value),
+                () -> MDC.remove(key));
+    }
+}
@@ -0,0 +1,75 @@
+package com.vivo.crm.casemanagement.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Amostragem de logs do caminho quente (configurado no logback-spring.xml)
+ *
+ * Para os loggers listados (prefixo do nome), mantém 1 de cada {@code rate} eventos até {@code maxLevel};
+ * níveis acima (por padrão WARN e ERROR) passam sempre. A decisão é tomada antes da formatação da mensagem.
+ *
+ * <pre>
+ * &lt;turboFilter class="...SamplingTurboFilter"&gt;
+ *     &lt;loggerName&gt;com.vivo.crm.casemanagement.application.service.CaseService&lt;/loggerName&gt;
+ *     &lt;rate&gt;100&lt;/rate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<String> loggerNames = new ArrayList<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int rate = 100;
+    private Level maxLevel = Level.INFO;
+
+    public void addLoggerName(String loggerName) {
+        loggerNames.add(loggerName);
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+
+    @Override
+    public void start() {
+        if (rate < 1) {
+            addError("rate deve ser maior ou igual a 1: " + rate);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format == null: chamada de isXxxEnabled(), que não deve consumir a amostra
+        if (!isStarted() || rate == 1 || format == null || level.toInt() > maxLevel.toInt() || !sampled(logger)) {
+            return FilterReply.NEUTRAL;
+        }
+        return counters.computeIfAbsent(logger.getName(), name -> new AtomicLong())
+                .getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean sampled(Logger logger) {
+        String name = logger.getName();
+        for (String prefix : loggerNames) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
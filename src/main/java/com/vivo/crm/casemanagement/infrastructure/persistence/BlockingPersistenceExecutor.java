@@ -0,0 +1,50 @@
+package com.vivo.crm.casemanagement.infrastructure.persistence;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Executa trabalho bloqueante de JPA dentro de uma transação, fora das threads da requisição
+ * Toda a unidade de trabalho (inclusive o carregamento de coleções lazy) deve ficar dentro do callback
+ */
+@Component
+public class BlockingPersistenceExecutor {
+
+    private final Scheduler scheduler;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate readTemplate;
+
+    public BlockingPersistenceExecutor(
+            @Qualifier("persistenceScheduler") Scheduler scheduler,
+            PlatformTransactionManager transactionManager) {
+        this.scheduler = scheduler;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Executa o callback em transação somente leitura
+     */
+    public <T> Mono<T> read(TransactionCallback<T> callback) {
+        return Mono.fromCallable(() -> readTemplate.execute(callback))
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * Executa o callback em transação de escrita
+     */
+    public <T> Mono<T> write(TransactionCallback<T> callback) {
+        return Mono.fromCallable(() -> writeTemplate.execute(callback))
+                .subscribeOn(scheduler);
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+}
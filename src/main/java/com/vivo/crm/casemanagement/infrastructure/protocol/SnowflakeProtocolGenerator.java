@@ -0,0 +1,90 @@
+package com.vivo.crm.casemanagement.infrastructure.protocol;
+
+import com.vivo.crm.casemanagement.domain.service.ProtocolGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de protocolos no estilo Snowflake: 41 bits de timestamp | 10 bits de nó | 12 bits de sequência
+ *
+ * - Único entre nós desde que cada nó tenha um node-id distinto (0-1023)
+ * - Monotônico por nó: se o relógio voltar, continua a partir do último valor emitido
+ * - Lock-free: o par (timestamp, sequência) é avançado com CAS em um único AtomicLong;
+ *   ao esgotar 4096 sequências no mesmo milissegundo, o estouro avança para o milissegundo seguinte
+ */
+@Component
+@Slf4j
+public class SnowflakeProtocolGenerator implements ProtocolGenerator {
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final String prefix;
+    private final long nodeId;
+    private final long epochMillis;
+
+    // (timestamp - epoch) << SEQUENCE_BITS | sequência do último ID emitido
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeProtocolGenerator(
+            @Value("${protocol.prefix:VIVO-}") String prefix,
+            @Value("${protocol.node-id:-1}") long nodeId,
+            @Value("${protocol.epoch:2026-01-01T00:00:00Z}") String epoch) {
+        this.prefix = prefix;
+        this.nodeId = nodeId >= 0 ? nodeId : deriveNodeId();
+        this.epochMillis = Instant.parse(epoch).toEpochMilli();
+
+        if (this.nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("protocol.node-id deve estar entre 0 e " + MAX_NODE_ID);
+        }
+        log.info("🔢 Gerador de protocolos: nodeId={}, prefix={}", this.nodeId, prefix);
+    }
+
+    @Override
+    public String nextProtocol() {
+        return prefix + nextId();
+    }
+
+    public long nextId() {
+        long next;
+        while (true) {
+            long last = lastState.get();
+            long now = currentTimeMillis() - epochMillis;
+            next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                break;
+            }
+        }
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    // Ponto de extensão para os testes controlarem o relógio
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Sem node-id configurado, deriva do hostname (ex.: nome do pod)
+     * Em produção o node-id deve ser atribuído explicitamente para garantir unicidade
+     */
+    private static long deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = String.valueOf(ProcessHandle.current().pid());
+        }
+        long derived = Math.floorMod(host.hashCode(), MAX_NODE_ID + 1);
+        log.warn("⚠️ protocol.node-id não configurado, usando valor derivado do host {}: {}", host, derived);
+        return derived;
+    }
+}
@@ -0,0 +1,263 @@
+package com.vivo.crm.casemanagement.infrastructure.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Limite de concorrência adaptativo (AIMD) para chamadas a um sistema externo
+ *
+ * - Resposta rápida com o limite em uso: limite + 1 (aumento aditivo)
+ * - Resposta acima de latency-threshold, timeout, 429 ou 5xx: limite * backoff-ratio (redução multiplicativa)
+ * - Sem permissão livre, a chamada espera em fila (FIFO) até max-wait; fila cheia ou espera
+ *   esgotada geram ConcurrencyLimitExceededException sem chegar ao sistema externo
+ *
+ * A latência considerada é a da chamada em si, sem o tempo de fila.
+ *
+ * Métricas: {name}.concurrency.limit, .inflight, .queue, .rejected{reason} e .queue.wait
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final int maxQueue;
+    private final Duration maxWait;
+
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+    private final Timer queueWait;
+
+    public AdaptiveConcurrencyLimiter(String name,
+                                      int initialLimit,
+                                      int minLimit,
+                                      int maxLimit,
+                                      double backoffRatio,
+                                      Duration latencyThreshold,
+                                      int maxQueue,
+                                      Duration maxWait,
+                                      MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Configuração inválida do limitador de concorrência " + name);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder(name + ".concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Limite atual de chamadas simultâneas")
+                .register(meterRegistry);
+        Gauge.builder(name + ".concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Chamadas em andamento")
+                .register(meterRegistry);
+        Gauge.builder(name + ".concurrency.queue", this, AdaptiveConcurrencyLimiter::getQueueDepth)
+                .description("Chamadas aguardando permissão")
+                .register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder(name + ".concurrency.rejected").tag("reason", "queue-full").register(meterRegistry);
+        this.rejectedTimeout = Counter.builder(name + ".concurrency.rejected").tag("reason", "timeout").register(meterRegistry);
+        this.queueWait = Timer.builder(name + ".concurrency.queue.wait")
+                .description("Tempo de espera por uma permissão")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa a chamada quando houver permissão; a permissão é devolvida ao término, erro ou cancelamento
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.usingWhen(
+                acquire(),
+                permit -> Mono.defer(call).doOnError(permit::fail),
+                permit -> Mono.fromRunnable(permit::release),
+                (permit, error) -> Mono.fromRunnable(permit::release),
+                permit -> Mono.fromRunnable(permit::cancel));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    // Relógio da latência das chamadas; ponto de extensão para os testes
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (queue.isEmpty() && inFlight < (int) limit) {
+                    inFlight++;
+                    waiter = null;
+                } else if (queue.size() >= maxQueue) {
+                    rejectedQueueFull.increment();
+                    sink.error(new ConcurrencyLimitExceededException(name, "fila cheia (" + maxQueue + ")"));
+                    return;
+                } else {
+                    waiter = new Waiter(sink);
+                    queue.addLast(waiter);
+                }
+            }
+            if (waiter == null) {
+                sink.success(new Permit());
+                return;
+            }
+            sink.onCancel(() -> abandon(waiter));
+            Schedulers.parallel().schedule(() -> expire(waiter), maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void expire(Waiter waiter) {
+        synchronized (this) {
+            if (waiter.state != WaiterState.WAITING) {
+                return;
+            }
+            waiter.state = WaiterState.EXPIRED;
+            queue.remove(waiter);
+        }
+        rejectedTimeout.increment();
+        waiter.sink.error(new ConcurrencyLimitExceededException(name, "espera por permissão acima de " + maxWait));
+    }
+
+    /**
+     * Assinante cancelado enquanto aguardava; se a permissão já tinha sido repassada, ela é devolvida
+     */
+    private void abandon(Waiter waiter) {
+        synchronized (this) {
+            if (waiter.state == WaiterState.WAITING) {
+                waiter.state = WaiterState.CANCELLED;
+                queue.remove(waiter);
+                return;
+            }
+            if (waiter.state != WaiterState.GRANTED) {
+                return;
+            }
+        }
+        onComplete(0, false);
+    }
+
+    /**
+     * Ajusta o limite e repassa as permissões livres para a fila
+     *
+     * @param latencyNanos latência da chamada (0 quando não deve ajustar o limite)
+     * @param overload     true quando a chamada indicou sobrecarga no sistema externo
+     */
+    private void onComplete(long latencyNanos, boolean overload) {
+        Deque<Waiter> granted = new ArrayDeque<>();
+        synchronized (this) {
+            inFlight--;
+            if (overload || latencyNanos > latencyThresholdNanos) {
+                double previous = limit;
+                limit = Math.max(minLimit, limit * backoffRatio);
+                if ((int) previous != (int) limit) {
+                    log.debug("📉 Limite de concorrência {} reduzido: {} -> {}", name, (int) previous, (int) limit);
+                }
+            } else if (latencyNanos > 0 && inFlight + 1 >= limit / 2) {
+                // Só cresce quando o limite está de fato em uso
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                Waiter next = queue.pollFirst();
+                next.state = WaiterState.GRANTED;
+                inFlight++;
+                granted.add(next);
+            }
+        }
+        for (Waiter next : granted) {
+            queueWait.record(System.nanoTime() - next.enqueuedAt, TimeUnit.NANOSECONDS);
+            next.sink.success(new Permit());
+        }
+    }
+
+    /**
+     * Timeouts, falhas de conexão, 429 e 5xx indicam sobrecarga; demais erros (ex.: 400) não alteram o limite
+     */
+    static boolean isOverload(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    private enum WaiterState { WAITING, GRANTED, EXPIRED, CANCELLED }
+
+    private static final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private final long enqueuedAt = System.nanoTime();
+        private WaiterState state = WaiterState.WAITING;
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * Permissão de uma chamada; devolvida uma única vez
+     */
+    private final class Permit {
+
+        private final long startedAt = nanoTime();
+        private Throwable error;
+        private boolean released;
+
+        void fail(Throwable error) {
+            this.error = error;
+        }
+
+        void release() {
+            if (error == null) {
+                complete(Math.max(1, nanoTime() - startedAt), false);
+            } else if (isOverload(error)) {
+                complete(nanoTime() - startedAt, true);
+            } else {
+                complete(0, false);
+            }
+        }
+
+        void cancel() {
+            complete(0, false);
+        }
+
+        private synchronized void complete(long latencyNanos, boolean overload) {
+            if (released) {
+                return;
+            }
+            released = true;
+            onComplete(latencyNanos, overload);
+        }
+    }
+}
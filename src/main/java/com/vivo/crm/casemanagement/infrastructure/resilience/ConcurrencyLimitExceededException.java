@@ -0,0 +1,12 @@
+package com.vivo.crm.casemanagement.infrastructure.resilience;
+
+/**
+ * Chamada descartada pelo limitador de concorrência antes de chegar ao sistema externo
+ * Não indica falha do sistema externo: não conta para o circuit breaker nem dispara retry
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String name, String reason) {
+        super("Limite de concorrência de '" + name + "' atingido: " + reason);
+    }
+}
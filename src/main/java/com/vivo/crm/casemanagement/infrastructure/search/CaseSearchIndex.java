@@ -0,0 +1,251 @@
+package com.vivo.crm.casemanagement.infrastructure.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido (Lucene) dos tickets: assunto, descrição, notas, cliente e números
+ *
+ * - Atualização incremental por caseId (updateDocument), visível após refresh (near-real-time)
+ * - Ranking BM25; cada palavra da busca precisa aparecer em algum campo (assunto e cliente pesam mais)
+ * - Números (CPF, telefone, protocolo) são indexados só com dígitos e buscados por prefixo:
+ *   "123.456" encontra "123.456.789-00" em uma nota
+ *
+ * O total de resultados é exato até TOTAL_HITS_THRESHOLD; acima disso é um limite inferior,
+ * o que permite ao Lucene pular blocos de documentos que não entram no top-N.
+ */
+public class CaseSearchIndex implements Closeable {
+
+    public static final int TOTAL_HITS_THRESHOLD = 1000;
+
+    static final String ID = "id";
+    static final String SUBJECT = "subject";
+    static final String DESCRIPTION = "description";
+    static final String NOTES = "notes";
+    static final String CUSTOMER = "customer";
+    static final String DIGITS = "digits";
+
+    private static final Map<String, Float> TEXT_FIELDS = Map.of(
+            SUBJECT, 3f,
+            CUSTOMER, 2f,
+            DESCRIPTION, 1f,
+            NOTES, 1f);
+    private static final float TIE_BREAKER = 0.1f;
+    private static final int MIN_DIGITS = 4;
+    private static final int MAX_QUERY_TERMS = 16;
+
+    // Sequência numérica com separadores usuais de CPF, telefone e CEP
+    private static final Pattern NUMBER = Pattern.compile("\\d(?:[\\d.\\-/]*\\d)?");
+    private static final Pattern NUMBER_TOKEN = Pattern.compile("[\\d.\\-/]+");
+
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public CaseSearchIndex(Directory directory, Analyzer analyzer, double ramBufferMb) throws IOException {
+        this.directory = directory;
+        this.analyzer = analyzer;
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBufferMb);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void index(SearchDocument document) {
+        try {
+            writer.updateDocument(new Term(ID, document.caseId()), toDocument(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void indexAll(Collection<SearchDocument> documents) {
+        documents.forEach(this::index);
+    }
+
+    /**
+     * Busca ranqueada; devolve os caseIds de offset até offset + limit
+     */
+    public Hits search(String text, int offset, int limit) {
+        Query query = parse(text);
+        if (query == null) {
+            return new Hits(List.of(), 0, true);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // search(query, n) usaria o limiar padrão do Lucene, não o documentado aqui
+                TopDocs top = searcher.search(query,
+                        TopScoreDocCollector.createSharedManager(offset + limit, null, TOTAL_HITS_THRESHOLD));
+                StoredFields storedFields = searcher.storedFields();
+                List<String> caseIds = new ArrayList<>(Math.max(0, Math.min(limit, top.scoreDocs.length - offset)));
+                for (int i = offset; i < top.scoreDocs.length; i++) {
+                    ScoreDoc hit = top.scoreDocs[i];
+                    caseIds.add(storedFields.document(hit.doc, Set.of(ID)).get(ID));
+                }
+                return new Hits(caseIds, top.totalHits.value, top.totalHits.relation == TotalHits.Relation.EQUAL_TO);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Torna visíveis as alterações indexadas desde o último refresh
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Persiste o índice no Directory (necessário apenas para índices em disco)
+     */
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int numDocs() {
+        return writer.getDocStats().numDocs;
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    Query parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        int clauses = 0;
+        for (String token : text.trim().split("\\s+")) {
+            if (clauses == MAX_QUERY_TERMS) {
+                break;
+            }
+            String digits = NUMBER_TOKEN.matcher(token).matches() ? token.replaceAll("\\D", "") : "";
+            if (digits.length() >= MIN_DIGITS) {
+                builder.add(new PrefixQuery(new Term(DIGITS, digits)), BooleanClause.Occur.MUST);
+                clauses++;
+                continue;
+            }
+            for (String term : analyze(token)) {
+                List<Query> perField = new ArrayList<>(TEXT_FIELDS.size());
+                TEXT_FIELDS.forEach((field, boost) ->
+                        perField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost)));
+                builder.add(new DisjunctionMaxQuery(perField, TIE_BREAKER), BooleanClause.Occur.MUST);
+                clauses++;
+            }
+        }
+        return clauses == 0 ? null : builder.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(DESCRIPTION, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Document toDocument(SearchDocument source) {
+        Document document = new Document();
+        document.add(new StringField(ID, source.caseId(), Field.Store.YES));
+        addText(document, SUBJECT, source.subject());
+        addText(document, DESCRIPTION, source.description());
+        addText(document, CUSTOMER, source.customerName());
+        source.notes().forEach(note -> addText(document, NOTES, note));
+
+        Set<String> numbers = new LinkedHashSet<>();
+        collectNumbers(numbers, source.protocol());
+        collectNumbers(numbers, source.customerId());
+        collectNumbers(numbers, source.subject());
+        collectNumbers(numbers, source.description());
+        source.notes().forEach(note -> collectNumbers(numbers, note));
+        numbers.forEach(number -> document.add(new StringField(DIGITS, number, Field.Store.NO)));
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private static void collectNumbers(Set<String> numbers, String text) {
+        if (text == null) {
+            return;
+        }
+        Matcher matcher = NUMBER.matcher(text);
+        while (matcher.find()) {
+            String digits = matcher.group().replaceAll("\\D", "");
+            if (digits.length() >= MIN_DIGITS) {
+                numbers.add(digits);
+            }
+        }
+    }
+
+    /**
+     * caseIds na ordem do ranking; total é exato quando totalExact
+     */
+    public record Hits(List<String> caseIds, long total, boolean totalExact) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.vivo.crm.casemanagement.infrastructure.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.pt.PortugueseAnalyzer;
+import org.apache.lucene.analysis.pt.PortugueseLightStemFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * Análise dos textos dos tickets (assunto, descrição, notas, nome do cliente)
+ *
+ * Minúsculas, stopwords do português, remoção de acentos e stemming leve:
+ * "Fibra sem sinal" e "fibras sem sinál" geram os mesmos termos (fibr, sinal).
+ * As stopwords são removidas antes dos acentos porque a lista do Lucene é acentuada ("não", "é").
+ */
+public class PortugueseTextAnalyzer extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer source = new StandardTokenizer();
+        TokenStream result = new LowerCaseFilter(source);
+        result = new StopFilter(result, PortugueseAnalyzer.getDefaultStopSet());
+        result = new ASCIIFoldingFilter(result);
+        result = new PortugueseLightStemFilter(result);
+        return new TokenStreamComponents(source, result);
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+    }
+}
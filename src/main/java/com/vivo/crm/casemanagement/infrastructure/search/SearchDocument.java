@@ -0,0 +1,25 @@
+package com.vivo.crm.casemanagement.infrastructure.search;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CaseNote;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Campos do caso que vão para o índice de busca, copiados dentro da transação
+ * (as notas são uma coleção lazy e não podem ser lidas depois do commit)
+ */
+public record SearchDocument(String caseId, String protocol, String subject, String description,
+                             String customerId, String customerName, List<String> notes, Instant createdAt) {
+
+    public static SearchDocument of(Case caseEntity) {
+        List<String> notes = caseEntity.getNotes() == null
+                ? List.of()
+                : caseEntity.getNotes().stream().map(CaseNote::getText).filter(Objects::nonNull).toList();
+        return new SearchDocument(caseEntity.getCaseId(), caseEntity.getProtocol(), caseEntity.getSubject(),
+                caseEntity.getDescription(), caseEntity.getCustomerId(), caseEntity.getCustomerName(), notes,
+                caseEntity.getCreatedAt());
+    }
+}
@@ -1,6 +1,12 @@
 package com.vivo.crm.casemanagement.interfaces.rest;
 
+import com.vivo.crm.casemanagement.application.service.CaseSearchService;
 import com.vivo.crm.casemanagement.application.service.CaseService;
+import com.vivo.crm.casemanagement.application.service.CustomerSummaryService;
+import com.vivo.crm.casemanagement.domain.model.InvalidRequestException;
+import com.vivo.crm.casemanagement.infrastructure.idempotency.IdempotencyGuard;
+import com.vivo.crm.casemanagement.infrastructure.logging.LogContext;
+import com.vivo.crm.casemanagement.infrastructure.search.CaseSearchIndex;
 import com.vivo.crm.casemanagement.interfaces.rest.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,9 +22,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller REST para API TMF621 - Trouble Ticket
@@ -31,7 +41,20 @@ import java.util.List;
 @Tag(name = "TroubleTicket", description = "TMF621 - Trouble Ticket Management API")
 public class TroubleTicketController {
 
+    private static final int MAX_LIMIT = 1000;
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_SEARCH_WINDOW = 1000;
+    private static final String CHARACTERISTIC_FILTER_PREFIX = "ticketCharacteristic.";
+    private static final int MAX_CHARACTERISTIC_FILTERS = 5;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String PREFER_HEADER = "Prefer";
+
     private final CaseService caseService;
+    private final CaseSearchService caseSearchService;
+    private final CustomerSummaryService customerSummaryService;
+    private final IdempotencyGuard idempotencyGuard;
 
     /**
      * Cria um novo TroubleTicket
@@ -45,18 +68,59 @@ public class TroubleTicketController {
         @ApiResponse(responseCode = "201", description = "Ticket criado com sucesso",
                      content = @Content(schema = @Schema(implementation = TroubleTicketResponse.class))),
         @ApiResponse(responseCode = "400", description = "Requisição inválida"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key já usada com outro corpo de requisição"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public Mono<ResponseEntity<TroubleTicketResponse>> createTroubleTicket(
+            @Parameter(description = "Chave única por tentativa lógica; retries com a mesma chave devolvem o ticket original")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "wait=N: aguarda até N segundos (limitado pelo servidor) a integração com Salesforce e Genesys")
+            @RequestHeader(value = PREFER_HEADER, required = false) String prefer,
             @Valid @RequestBody TroubleTicketCreateRequest request) {
         
         log.info("📨 POST /troubleTicket - Criando ticket: {}", request.getName());
         
-        return caseService.createCase(request)
-                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response))
+        Duration wait = preferredWait(prefer);
+        return idempotencyGuard.execute(idempotencyKey, request, () -> caseService.createCase(request, wait))
+                .map(result -> ResponseEntity.status(HttpStatus.CREATED)
+                        .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                        .body(result.response()))
                 .doOnSuccess(r -> log.info("✅ Ticket criado: {}", r.getBody().getId()));
     }
 
+    /**
+     * Cria TroubleTickets em lote
+     */
+    @PostMapping(value = "/troubleTicket/bulk",
+                 consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Criar TroubleTickets em lote",
+               description = "Cria até " + MAX_BULK_SIZE + " tickets em uma única requisição (URA, correlação de falhas de rede). " +
+                             "Retorna o resultado de cada item; a sincronização com o Salesforce é feita em lote")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Todos os tickets criados",
+                     content = @Content(schema = @Schema(implementation = TroubleTicketBulkResponse.class))),
+        @ApiResponse(responseCode = "207", description = "Parte dos tickets rejeitada (ver resultado por item)"),
+        @ApiResponse(responseCode = "400", description = "Lista vazia ou acima do limite")
+    })
+    public Mono<ResponseEntity<TroubleTicketBulkResponse>> createTroubleTicketsBulk(
+            @RequestBody List<TroubleTicketCreateRequest> requests) {
+
+        log.info("📨 POST /troubleTicket/bulk - {} tickets", requests.size());
+
+        if (requests.isEmpty() || requests.size() > MAX_BULK_SIZE) {
+            return Mono.error(new InvalidRequestException(
+                    "A lista deve conter entre 1 e " + MAX_BULK_SIZE + " tickets"));
+        }
+
+        return caseService.createCases(requests)
+                .map(response -> ResponseEntity
+                        .status(response.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                        .body(response))
+                .doOnSuccess(r -> log.info("✅ Lote processado: {} criados, {} rejeitados",
+                        r.getBody().getCreated(), r.getBody().getRejected()));
+    }
+
     /**
      * Busca um TroubleTicket pelo ID
      */
@@ -76,7 +140,8 @@ public class TroubleTicketController {
         return caseService.getCaseById(id)
                 .map(ResponseEntity::ok)
                 .onErrorResume(CaseService.CaseNotFoundException.class, 
-                              e -> Mono.just(ResponseEntity.notFound().build()));
+                              e -> Mono.just(ResponseEntity.notFound().build()))
+                .contextWrite(LogContext.protocol(id));
     }
 
     /**
@@ -84,7 +149,10 @@ public class TroubleTicketController {
      */
     @GetMapping(value = "/troubleTicket", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Listar TroubleTickets", 
-               description = "Lista tickets com filtros opcionais por status, prioridade e tipo")
+               description = "Lista tickets com filtros opcionais por status, prioridade, tipo e características " +
+                             "(ticketCharacteristic.<nome>=<valor>, ex.: ticketCharacteristic.msisdn=11999999999) e cliente " +
+                             "(relatedParty.id). Paginação por offset/limit ou por cursor (header X-Next-Cursor). " +
+                             "Para a visão resumida do cliente use /troubleTicket/summary")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de tickets")
     })
@@ -97,14 +165,152 @@ public class TroubleTicketController {
             
             @Parameter(description = "Filtrar por tipo de ticket")
             @RequestParam(required = false) String ticketType,
+
+            @Parameter(description = "Filtrar por cliente (id do relatedParty Contact)")
+            @RequestParam(name = "relatedParty.id", required = false) String relatedPartyId,
             
             @Parameter(description = "Limite de resultados")
-            @RequestParam(required = false, defaultValue = "100") Integer limit) {
-        
-        log.info("📨 GET /troubleTicket - status={}, priority={}, ticketType={}", status, priority, ticketType);
+            @RequestParam(required = false, defaultValue = "100") Integer limit,
+
+            @Parameter(description = "Posição inicial dos resultados (ignorado quando há cursor)")
+            @RequestParam(required = false, defaultValue = "0") Integer offset,
+
+            @Parameter(description = "Cursor da próxima página, retornado no header X-Next-Cursor")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(hidden = true)
+            @RequestParam Map<String, String> params) {
         
-        return caseService.listCases(status, priority, ticketType)
-                .map(ResponseEntity::ok);
+        log.info("📨 GET /troubleTicket - status={}, priority={}, ticketType={}, relatedParty.id={}",
+                status, priority, ticketType, relatedPartyId);
+
+        int pageLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        int pageOffset = Math.max(0, offset);
+        Map<String, String> characteristics = characteristicFilters(params);
+
+        return caseService.listCases(status, priority, ticketType, characteristics, relatedPartyId,
+                        pageOffset, pageLimit, cursor)
+                .map(page -> {
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                            .header("X-Total-Count", String.valueOf(page.getTotalCount()))
+                            .header("X-Result-Count", String.valueOf(page.getItems().size()));
+                    if (page.getNextCursor() != null) {
+                        builder.header("X-Next-Cursor", page.getNextCursor());
+                    }
+                    return builder.body(page.getItems());
+                });
+    }
+
+    /**
+     * Resumo dos tickets de um cliente: total, abertos por status, última atualização e tickets recentes
+     */
+    @GetMapping(value = "/troubleTicket/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Resumo dos TroubleTickets de um cliente",
+               description = "Total de tickets, tickets em aberto por status, última atualização e os tickets " +
+                             "atualizados mais recentemente, servidos de um resumo em memória mantido a cada alteração")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resumo do cliente (zerado se não houver tickets)")
+    })
+    public Mono<ResponseEntity<CustomerTicketSummaryResponse>> getCustomerSummary(
+            @Parameter(description = "ID do cliente (relatedParty Contact)", required = true)
+            @RequestParam(name = "relatedParty.id") String relatedPartyId) {
+
+        log.info("📨 GET /troubleTicket/summary - relatedParty.id={}", relatedPartyId);
+
+        return customerSummaryService.summary(relatedPartyId).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Busca textual em assunto, descrição, notas, nome do cliente e números (CPF, telefone, protocolo)
+     */
+    @GetMapping(value = "/troubleTicket/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Buscar TroubleTickets por texto",
+               description = "Retorna os tickets em ordem de relevância; todas as palavras precisam aparecer no ticket. " +
+                             "Números são buscados por prefixo, ignorando pontuação. " +
+                             "X-Total-Count é exato até " + CaseSearchIndex.TOTAL_HITS_THRESHOLD + " resultados; acima disso é um " +
+                             "limite inferior e X-Total-Count-Exact vem false")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tickets encontrados"),
+        @ApiResponse(responseCode = "400", description = "Busca vazia ou página além de " + MAX_SEARCH_WINDOW + " resultados")
+    })
+    public Mono<ResponseEntity<List<TroubleTicketResponse>>> searchTroubleTickets(
+            @Parameter(description = "Texto livre (ex.: fibra sem sinal, nome do cliente, trecho de CPF)", required = true)
+            @RequestParam(required = false) String q,
+
+            @Parameter(description = "Limite de resultados")
+            @RequestParam(required = false, defaultValue = "20") Integer limit,
+
+            @Parameter(description = "Posição inicial dos resultados")
+            @RequestParam(required = false, defaultValue = "0") Integer offset) {
+
+        log.info("📨 GET /troubleTicket/search - q={}", q);
+
+        int pageLimit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        int pageOffset = Math.max(0, offset);
+        // Ausente ou vazio: 400 pelo InvalidRequestException, não o erro genérico do Spring
+        if (q == null || q.isBlank()) {
+            return Mono.error(new InvalidRequestException("O parâmetro 'q' é obrigatório"));
+        }
+        if (pageOffset + pageLimit > MAX_SEARCH_WINDOW) {
+            return Mono.error(new InvalidRequestException(
+                    "A busca retorna no máximo os " + MAX_SEARCH_WINDOW + " resultados mais relevantes"));
+        }
+
+        return caseSearchService.search(q, pageOffset, pageLimit)
+                .map(page -> ResponseEntity.ok()
+                        .header("X-Total-Count", String.valueOf(page.getTotalCount()))
+                        .header("X-Total-Count-Exact", String.valueOf(page.isTotalCountExact()))
+                        .header("X-Result-Count", String.valueOf(page.getItems().size()))
+                        .body(page.getItems()));
+    }
+
+    /**
+     * Exporta TroubleTickets em streaming (NDJSON)
+     */
+    @GetMapping(value = "/troubleTicket", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar TroubleTickets", 
+               description = "Exporta todos os tickets que atendem aos filtros em NDJSON, um ticket por linha, " +
+                             "com uso de memória constante")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream de tickets")
+    })
+    public Flux<TroubleTicketResponse> streamTroubleTickets(
+            @Parameter(description = "Filtrar por status (new, inProgress, resolved, etc)")
+            @RequestParam(required = false) String status,
+
+            @Parameter(description = "Filtrar por prioridade (Critical, High, Medium, Low)")
+            @RequestParam(required = false) String priority,
+
+            @Parameter(description = "Filtrar por tipo de ticket")
+            @RequestParam(required = false) String ticketType,
+
+            @Parameter(hidden = true)
+            @RequestParam Map<String, String> params) {
+
+        log.info("📨 GET /troubleTicket (stream) - status={}, priority={}, ticketType={}", status, priority, ticketType);
+
+        return caseService.streamCases(status, priority, ticketType, characteristicFilters(params));
+    }
+
+    /**
+     * Extrai os filtros ticketCharacteristic.<nome>=<valor> dos parâmetros da requisição
+     */
+    static Map<String, String> characteristicFilters(Map<String, String> params) {
+        Map<String, String> characteristics = new LinkedHashMap<>();
+        params.forEach((param, value) -> {
+            if (param.startsWith(CHARACTERISTIC_FILTER_PREFIX)) {
+                String name = param.substring(CHARACTERISTIC_FILTER_PREFIX.length());
+                if (name.isBlank()) {
+                    throw new InvalidRequestException("Informe o nome da característica: ticketCharacteristic.<nome>=<valor>");
+                }
+                characteristics.put(name, value);
+            }
+        });
+        if (characteristics.size() > MAX_CHARACTERISTIC_FILTERS) {
+            throw new InvalidRequestException(
+                    "No máximo " + MAX_CHARACTERISTIC_FILTERS + " filtros por característica por consulta");
+        }
+        return characteristics;
     }
 
     /**
@@ -129,7 +335,8 @@ public class TroubleTicketController {
         return caseService.updateCase(id, request)
                 .map(ResponseEntity::ok)
                 .onErrorResume(CaseService.CaseNotFoundException.class,
-                              e -> Mono.just(ResponseEntity.notFound().build()));
+                              e -> Mono.just(ResponseEntity.notFound().build()))
+                .contextWrite(LogContext.protocol(id));
     }
 
     /**
@@ -150,6 +357,27 @@ public class TroubleTicketController {
         return caseService.deleteCase(id)
                 .then(Mono.just(ResponseEntity.noContent().<Void>build()))
                 .onErrorResume(CaseService.CaseNotFoundException.class,
-                              e -> Mono.just(ResponseEntity.notFound().build()));
+                              e -> Mono.just(ResponseEntity.notFound().build()))
+                .contextWrite(LogContext.protocol(id));
+    }
+
+    /**
+     * Preferência wait=N (RFC 7240) do header Prefer; valores inválidos são ignorados, como manda a RFC
+     */
+    static Duration preferredWait(String prefer) {
+        if (prefer == null) {
+            return null;
+        }
+        for (String preference : prefer.split(",")) {
+            String token = preference.split(";", 2)[0].trim();
+            if (token.regionMatches(true, 0, "wait=", 0, 5)) {
+                try {
+                    return Duration.ofSeconds(Long.parseLong(token.substring(5).trim()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,34 @@
+package com.vivo.crm.casemanagement.interfaces.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumo dos tickets de um cliente (relatedParty.id) para a tela inicial do app
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerTicketSummaryResponse {
+
+    private String relatedPartyId;
+
+    private long totalCount;
+
+    private long openCount;
+
+    // Status TMF621 -> quantidade de tickets em aberto
+    private Map<String, Long> openCountByStatus;
+
+    private Instant lastUpdate;
+
+    // Tickets atualizados mais recentemente, do mais novo para o mais antigo
+    private List<TroubleTicketResponse> latestTickets;
+}
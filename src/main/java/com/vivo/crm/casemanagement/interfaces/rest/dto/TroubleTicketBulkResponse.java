@@ -0,0 +1,42 @@
+package com.vivo.crm.casemanagement.interfaces.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da criação em lote de TroubleTickets, com o resultado de cada item
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TroubleTicketBulkResponse {
+
+    private int total;
+
+    private int created;
+
+    private int rejected;
+
+    private List<ItemResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        // Posição do item na lista enviada
+        private int index;
+
+        // created | rejected
+        private String status;
+
+        private TroubleTicketResponse ticket;
+
+        private List<String> errors;
+    }
+}
@@ -1,7 +1,10 @@
 package com.vivo.crm.casemanagement.interfaces.rest.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -37,6 +40,7 @@ public class TroubleTicketCreateRequest {
 
     private List<NoteDto> note;
 
+    @Valid
     private List<TicketCharacteristicDto> ticketCharacteristic;
 
     @Data
@@ -74,7 +78,14 @@ public class TroubleTicketCreateRequest {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class TicketCharacteristicDto {
+        // Limites das colunas de case_characteristics; nome e valor obrigatórios porque
+        // o Hibernate não grava valor nulo de @ElementCollection (a característica sumiria em silêncio)
+        @NotBlank(message = "O nome da característica é obrigatório")
+        @Size(max = 100, message = "O nome da característica deve ter até 100 caracteres")
         private String name;
+
+        @NotNull(message = "O valor da característica é obrigatório")
+        @Size(max = 1000, message = "O valor da característica deve ter até 1000 caracteres")
         private String value;
     }
 }
@@ -0,0 +1,29 @@
+package com.vivo.crm.casemanagement.interfaces.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de TroubleTickets com os totais usados nos headers X-Total-Count / X-Result-Count
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TroubleTicketPage {
+
+    private List<TroubleTicketResponse> items;
+
+    private long totalCount;
+
+    // false quando totalCount é um limite inferior (busca textual acima de TOTAL_HITS_THRESHOLD)
+    @Builder.Default
+    private boolean totalCountExact = true;
+
+    // Cursor para a próxima página (null quando não há mais resultados)
+    private String nextCursor;
+}
@@ -43,7 +43,10 @@ public class TroubleTicketMapper {
         if (request.getTicketCharacteristic() != null) {
             Map<String, String> characteristics = new HashMap<>();
             for (TroubleTicketCreateRequest.TicketCharacteristicDto tc : request.getTicketCharacteristic()) {
-                characteristics.put(tc.getName(), tc.getValue());
+                // O nome é a chave da linha em case_characteristics
+                if (tc.getName() != null && !tc.getName().isBlank()) {
+                    characteristics.put(tc.getName(), tc.getValue());
+                }
             }
             caseEntity.setTicketCharacteristics(characteristics);
         }
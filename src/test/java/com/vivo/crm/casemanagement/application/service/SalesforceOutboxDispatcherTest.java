@@ -0,0 +1,117 @@
+package com.vivo.crm.casemanagement.application.service;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.OutboxEvent;
+import com.vivo.crm.casemanagement.domain.model.OutboxOperation;
+import com.vivo.crm.casemanagement.domain.model.OutboxStatus;
+import com.vivo.crm.casemanagement.domain.repository.CaseRepository;
+import com.vivo.crm.casemanagement.domain.repository.OutboxEventRepository;
+import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceAdapter;
+import com.vivo.crm.casemanagement.infrastructure.adapter.salesforce.SalesforceDto;
+import com.vivo.crm.casemanagement.infrastructure.cache.TicketCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Um chunk que não responde dentro de dispatch-timeout não descarta os chunks que o Salesforce já criou
+ */
+class SalesforceOutboxDispatcherTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(2);
+    private static final Duration DISPATCH_TIMEOUT = Duration.ofMillis(300);
+
+    private final OutboxEventRepository outboxRepository = mock(OutboxEventRepository.class);
+    private final CaseRepository caseRepository = mock(CaseRepository.class);
+    private final SalesforceAdapter salesforceAdapter = mock(SalesforceAdapter.class);
+    private final TicketCache ticketCache = mock(TicketCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Case answered = Case.builder().caseId("case-1").protocol("VIVO-1").build();
+    private final Case hanging = Case.builder().caseId("case-2").protocol("VIVO-2").build();
+    private final OutboxEvent answeredEvent = event(1L, "case-1");
+    private final OutboxEvent hangingEvent = event(2L, "case-2");
+
+    @BeforeEach
+    void setUp() {
+        when(outboxRepository.findDue(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(answeredEvent, hangingEvent));
+        when(outboxRepository.findAllById(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return List.of(answeredEvent, hangingEvent).stream().filter(e -> ids.contains(e.getEventId())).toList();
+        });
+        when(caseRepository.findAllById(any())).thenReturn(List.of(answered, hanging));
+        when(salesforceAdapter.createCases(List.of(answered))).thenReturn(Mono.just(List.of(
+                SalesforceDto.CaseCreateResponse.builder().id("500-1").success(true).build())));
+        when(salesforceAdapter.createCases(List.of(hanging))).thenReturn(Mono.never());
+    }
+
+    @Test
+    void answeredChunkIsStoredWhenAnotherChunkTimesOut() {
+        long start = System.nanoTime();
+        dispatcher(DISPATCH_TIMEOUT).dispatch();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(elapsed).isLessThan(LEASE);
+        verify(caseRepository).updateSalesforceCaseId("case-1", "500-1");
+        verify(caseRepository, never()).updateSalesforceCaseId(eq("case-2"), anyString());
+        verify(ticketCache).invalidate("VIVO-1");
+
+        assertThat(answeredEvent.getStatus()).isEqualTo(OutboxStatus.DONE);
+        assertThat(answeredEvent.getLeasedUntil()).isNull();
+        // Sem resposta: continua reservado até o fim do lease, nenhum nó reenvia antes disso
+        assertThat(hangingEvent.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(hangingEvent.getAttempts()).isZero();
+        assertThat(hangingEvent.getLeasedUntil()).isAfter(Instant.now());
+        assertThat(meterRegistry.get("salesforce.outbox.dispatched").tag("result", "timeout").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void dispatchTimeoutMustStayBelowTheLease() {
+        assertThatThrownBy(() -> dispatcher(LEASE)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private SalesforceOutboxDispatcher dispatcher(Duration dispatchTimeout) {
+        return new SalesforceOutboxDispatcher(outboxRepository, caseRepository, salesforceAdapter,
+                new DirectTransactionTemplate(), ticketCache, meterRegistry,
+                500, 8, 10, Duration.ofSeconds(5), Duration.ofMinutes(10), LEASE, dispatchTimeout, 1);
+    }
+
+    private static OutboxEvent event(Long eventId, String caseId) {
+        OutboxEvent event = OutboxEvent.pending(caseId, OutboxOperation.CREATE);
+        event.setEventId(eventId);
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+
+    /**
+     * Executa o callback direto, sem gerenciador de transação
+     */
+    private static final class DirectTransactionTemplate extends TransactionTemplate {
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            return action.doInTransaction(null);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.vivo.crm.casemanagement.domain.repository;
+
+import com.vivo.crm.casemanagement.domain.model.Case;
+import com.vivo.crm.casemanagement.domain.model.CaseNote;
+import com.vivo.crm.casemanagement.domain.model.RelatedParty;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+import com.vivo.crm.casemanagement.interfaces.rest.mapper.TroubleTicketMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uma página de casos mapeada para a resposta TMF621 carrega notas, partes relacionadas e características
+ * em uma query por coleção (@BatchSize), e não uma por caso (N+1)
+ *
+ * default_batch_fetch_size=1 desliga o batch global: o teste cobre o @BatchSize das entidades
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=1",
+        "spring.jpa.show-sql=false"
+})
+@Import(TroubleTicketMapper.class)
+class CaseRepositoryBatchFetchTest {
+
+    private static final int CASES = 60;
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private TroubleTicketMapper mapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < CASES; i++) {
+            Case caseEntity = Case.builder()
+                    .protocol("VIVO-%04d".formatted(i))
+                    .subject("Sem sinal " + i)
+                    .ticketCharacteristics(new HashMap<>(Map.of("msisdn", "1199999" + i, "networkElement", "OLT-" + i)))
+                    .build();
+            for (int n = 0; n < 2; n++) {
+                caseEntity.addNote(CaseNote.builder().text("nota " + n).author("atendente").build());
+                caseEntity.addRelatedParty(RelatedParty.builder()
+                        .partyId("C" + i + "-" + n).name("Cliente").role("customer").referredType("Contact").build());
+            }
+            caseRepository.save(caseEntity);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageLoadsCollectionsInBatches() {
+        Page<Case> page = caseRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt", "caseId")));
+        List<TroubleTicketResponse> items = page.stream().map(mapper::toResponse).toList();
+
+        assertThat(items).hasSize(PAGE_SIZE);
+        assertThat(items).allSatisfy(item -> {
+            assertThat(item.getNote()).hasSize(2);
+            assertThat(item.getRelatedParty()).hasSize(2);
+            assertThat(item.getTicketCharacteristic()).hasSize(2);
+        });
+
+        // Página + count + notas + partes relacionadas + características
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+        assertThat(statistics.getCollectionFetchCount()).isLessThanOrEqualTo(3);
+    }
+}
@@ -0,0 +1,92 @@
+package com.vivo.crm.casemanagement.domain.repository;
+
+import com.vivo.crm.casemanagement.domain.model.OutboxEvent;
+import com.vivo.crm.casemanagement.domain.model.OutboxOperation;
+import com.vivo.crm.casemanagement.domain.model.OutboxStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A antecipação do backoff na volta do Salesforce não libera eventos reservados
+ * pelo dispatcher (lease) nem pelo fan-out da criação (Prefer: wait)
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+class OutboxEventRepositoryTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(60);
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @Test
+    void rescheduleDelayedPullsForwardOnlyEventsInBackoff() {
+        // Assumido por um dispatcher (qualquer nó) e ainda em envio
+        OutboxEvent leased = OutboxEvent.pending("case-leased", OutboxOperation.CREATE);
+        leased.setNextAttemptAt(now.minusSeconds(1));
+        leased.setLeasedUntil(now.plus(LEASE));
+
+        // Reservado para o fan-out da criação, CREATE em andamento
+        OutboxEvent reserved = OutboxEvent.pending("case-fan-out", OutboxOperation.CREATE);
+        reserved.setLeasedUntil(now.plus(LEASE));
+
+        // Falhou durante a indisponibilidade e aguarda o backoff
+        OutboxEvent backoff = OutboxEvent.pending("case-backoff", OutboxOperation.CREATE);
+        backoff.setAttempts(3);
+        backoff.setLastError("503 Service Unavailable");
+        backoff.setNextAttemptAt(now.plus(Duration.ofMinutes(5)));
+
+        outboxRepository.saveAll(List.of(leased, reserved, backoff));
+        entityManager.flush();
+        entityManager.clear();
+
+        outboxRepository.rescheduleDelayed(OutboxStatus.PENDING, now);
+        entityManager.clear();
+
+        assertThat(dueCaseIds(now)).containsExactly("case-backoff");
+        assertThat(outboxRepository.findById(leased.getEventId())).get()
+                .extracting(OutboxEvent::getLeasedUntil).isEqualTo(now.plus(LEASE));
+        assertThat(outboxRepository.findById(reserved.getEventId())).get()
+                .extracting(OutboxEvent::getLeasedUntil).isEqualTo(now.plus(LEASE));
+
+        // Reservas vencidas (nó que caiu no meio do envio) voltam a ser assumidas
+        assertThat(dueCaseIds(now.plus(LEASE).plusSeconds(1)))
+                .containsExactlyInAnyOrder("case-leased", "case-fan-out", "case-backoff");
+    }
+
+    @Test
+    void releasedFanOutEventIsDueImmediately() {
+        OutboxEvent reserved = OutboxEvent.pending("case-fan-out", OutboxOperation.CREATE);
+        reserved.setLeasedUntil(now.plus(LEASE));
+        Long eventId = outboxRepository.save(reserved).getEventId();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(dueCaseIds(now)).isEmpty();
+
+        outboxRepository.release(eventId, OutboxStatus.PENDING, now, "timeout");
+        entityManager.clear();
+
+        assertThat(dueCaseIds(now)).containsExactly("case-fan-out");
+    }
+
+    private List<String> dueCaseIds(Instant at) {
+        return outboxRepository.findDue(OutboxStatus.PENDING, at, Limit.of(10)).stream()
+                .map(OutboxEvent::getCaseId)
+                .toList();
+    }
+}
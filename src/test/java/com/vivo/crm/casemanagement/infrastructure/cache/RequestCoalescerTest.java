@@ -0,0 +1,126 @@
+package com.vivo.crm.casemanagement.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTest {
+
+    private static final int SUBSCRIBERS = 64;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer<String, String> coalescer;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer<>("tickets", Duration.ZERO, meterRegistry);
+    }
+
+    @Test
+    void concurrentSubscribersShareOneLoad() {
+        Sinks.One<String> load = Sinks.one();
+
+        // Todos assinam em paralelo enquanto a carga está em andamento
+        Mono<List<String>> all = Flux.range(0, SUBSCRIBERS)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> coalescer.coalesce("VIVO-1", () -> {
+                    loads.incrementAndGet();
+                    return load.asMono();
+                }))
+                .sequential()
+                .collectList();
+
+        StepVerifier.create(all)
+                .then(() -> awaitInflight(SUBSCRIBERS))
+                .then(() -> load.tryEmitValue("ticket"))
+                .assertNext(values -> assertThat(values).hasSize(SUBSCRIBERS).containsOnly("ticket"))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(counter("leader")).isEqualTo(1);
+        assertThat(counter("joined")).isEqualTo(SUBSCRIBERS - 1);
+        assertThat(meterRegistry.get("tickets.coalescing.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void errorIsSharedButNotKept() {
+        Sinks.One<String> failing = Sinks.one();
+        Mono<String> first = coalescer.coalesce("VIVO-2", () -> {
+            loads.incrementAndGet();
+            return failing.asMono();
+        });
+        Mono<String> second = coalescer.coalesce("VIVO-2", () -> {
+            loads.incrementAndGet();
+            return Mono.just("nunca");
+        });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> failing.tryEmitError(new IllegalStateException("banco indisponível")))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+
+        // A próxima leitura dispara uma nova carga
+        StepVerifier.create(coalescer.coalesce("VIVO-2", () -> {
+                    loads.incrementAndGet();
+                    return Mono.just("ticket");
+                }))
+                .expectNext("ticket")
+                .verifyComplete();
+        assertThat(loads).hasValue(2);
+        assertThat(counter("leader")).isEqualTo(2);
+        assertThat(counter("joined")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateStartsANewLoadForLaterSubscribers() {
+        Sinks.One<String> stale = Sinks.one();
+        Mono<String> before = coalescer.coalesce("VIVO-3", () -> {
+            loads.incrementAndGet();
+            return stale.asMono();
+        });
+
+        StepVerifier.create(before)
+                .then(() -> coalescer.invalidate("VIVO-3"))
+                .then(() -> StepVerifier.create(coalescer.coalesce("VIVO-3", () -> {
+                            loads.incrementAndGet();
+                            return Mono.just("novo");
+                        }))
+                        .expectNext("novo")
+                        .verifyComplete())
+                .then(() -> stale.tryEmitValue("antigo"))
+                .expectNext("antigo")
+                .verifyComplete();
+
+        assertThat(loads).hasValue(2);
+        assertThat(counter("leader")).isEqualTo(2);
+        assertThat(counter("joined")).isZero();
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("tickets.coalescing").tag("result", result).counter().count();
+    }
+
+    /**
+     * Espera todos os assinantes chegarem ao coalescer (leader + joined) antes de liberar a carga
+     */
+    private void awaitInflight(int subscribers) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (counter("leader") + counter("joined") < subscribers && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
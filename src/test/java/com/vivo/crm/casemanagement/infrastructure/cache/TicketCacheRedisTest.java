@@ -0,0 +1,230 @@
+package com.vivo.crm.casemanagement.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Camada Redis do TicketCache contra um redis-server real (binário do embedded-redis):
+ * scripts Lua condicionados à geração, chaves com hash tag {protocolo} e Redis fora do ar
+ *
+ * Cada TicketCache faz o papel de um nó com near cache próprio; todos compartilham o mesmo Redis.
+ * As gravações são assíncronas: o teste espera o efeito (chave ou execução do script) antes de verificar
+ */
+class TicketCacheRedisTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate redis;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port = freePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = connectionFactory(port);
+        redis = new ReactiveStringRedisTemplate(connectionFactory);
+
+        // Carrega os dois scripts no Redis: daqui em diante cada execução é um único EVALSHA
+        TicketCache warmUp = node(redis, new SimpleMeterRegistry());
+        warmUp.get("WARMUP", () -> Mono.just(ticket("warmup"))).block();
+        await(() -> value("troubleTicket:{WARMUP}") != null);
+        warmUp.invalidate("WARMUP");
+        await(() -> "1".equals(value("troubleTicket:{WARMUP}:gen")));
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void flush() {
+        redis.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+    }
+
+    @Test
+    void missLoadsOnceAndOtherNodesHitRedis() {
+        SimpleMeterRegistry nodeBMetrics = new SimpleMeterRegistry();
+        TicketCache nodeA = node(redis, new SimpleMeterRegistry());
+        TicketCache nodeB = node(redis, nodeBMetrics);
+
+        StepVerifier.create(nodeA.get("VIVO-1", () -> load("banco"))).expectNextCount(1).verifyComplete();
+        await(() -> value("troubleTicket:{VIVO-1}") != null);
+        assertThat(redis.getExpire("troubleTicket:{VIVO-1}").block()).isPositive();
+
+        StepVerifier.create(nodeB.get("VIVO-1", () -> Mono.error(new AssertionError("não deveria ir ao banco"))))
+                .assertNext(response -> assertThat(response.getName()).isEqualTo("banco"))
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+        assertThat(redisCounter(nodeBMetrics, "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateRemovesTheEntryAndAdvancesTheGeneration() {
+        TicketCache nodeA = node(redis, new SimpleMeterRegistry());
+        TicketCache nodeB = node(redis, new SimpleMeterRegistry());
+        StepVerifier.create(nodeA.get("VIVO-2", () -> load("v1"))).expectNextCount(1).verifyComplete();
+        await(() -> value("troubleTicket:{VIVO-2}") != null);
+
+        nodeA.invalidate("VIVO-2");
+        await(() -> value("troubleTicket:{VIVO-2}") == null);
+        assertThat(value("troubleTicket:{VIVO-2}:gen")).isEqualTo("1");
+        assertThat(redis.getExpire("troubleTicket:{VIVO-2}:gen").block()).isPositive();
+
+        // Outro nó vê o miss, carga nova é gravada sob a geração atual
+        StepVerifier.create(nodeB.get("VIVO-2", () -> load("v2")))
+                .assertNext(response -> assertThat(response.getName()).isEqualTo("v2"))
+                .verifyComplete();
+        await(() -> value("troubleTicket:{VIVO-2}") != null);
+        assertThat(value("troubleTicket:{VIVO-2}")).contains("\"v2\"");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadRacingAnInvalidateOnAnotherNodeIsNotWrittenToRedis() {
+        TicketCache nodeA = node(redis, new SimpleMeterRegistry());
+        TicketCache nodeB = node(redis, new SimpleMeterRegistry());
+        TicketCache nodeC = node(redis, new SimpleMeterRegistry());
+        Sinks.One<TroubleTicketResponse> staleRead = Sinks.one();
+        AtomicLong scripts = new AtomicLong();
+
+        StepVerifier.create(nodeA.get("VIVO-3", () -> {
+                    loads.incrementAndGet();
+                    return staleRead.asMono();
+                }))
+                // A leitura do banco começou; a alteração é confirmada em outro nó e invalida o ticket
+                .then(() -> nodeB.invalidate("VIVO-3"))
+                .then(() -> await(() -> "1".equals(value("troubleTicket:{VIVO-3}:gen"))))
+                .then(() -> scripts.set(scriptCalls()))
+                .then(() -> staleRead.tryEmitValue(ticket("antigo")))
+                .expectNextCount(1)
+                .verifyComplete();
+        // O SET condicionado do nó A já rodou (e recusou a gravação) antes da próxima leitura
+        await(() -> scriptCalls() > scripts.get());
+
+        // Se o SET condicionado tivesse gravado o ticket antigo, o nó C o leria do Redis em vez de ir ao banco
+        StepVerifier.create(nodeC.get("VIVO-3", () -> load("novo")))
+                .assertNext(response -> assertThat(response.getName()).isEqualTo("novo"))
+                .verifyComplete();
+        assertThat(loads).hasValue(2);
+        await(() -> value("troubleTicket:{VIVO-3}") != null);
+        assertThat(value("troubleTicket:{VIVO-3}")).contains("\"novo\"");
+    }
+
+    @Test
+    void redisDownFallsBackToTheDatabase() throws IOException {
+        LettuceConnectionFactory downFactory = connectionFactory(freePort());
+        try {
+            SimpleMeterRegistry metrics = new SimpleMeterRegistry();
+            TicketCache node = node(new ReactiveStringRedisTemplate(downFactory), metrics);
+
+            StepVerifier.create(node.get("VIVO-4", () -> load("banco")))
+                    .assertNext(response -> assertThat(response.getName()).isEqualTo("banco"))
+                    .verifyComplete();
+            node.invalidate("VIVO-4");
+            StepVerifier.create(node.get("VIVO-4", () -> load("banco")))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            assertThat(loads).hasValue(2);
+            assertThat(redisCounter(metrics, "error")).isGreaterThanOrEqualTo(2);
+        } finally {
+            downFactory.destroy();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TicketCache node(ReactiveStringRedisTemplate template, SimpleMeterRegistry meterRegistry) {
+        ObjectProvider<ReactiveStringRedisTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(template);
+        return new TicketCache(provider, new ObjectMapper(), meterRegistry,
+                true, 100, Duration.ofMinutes(1), true, Duration.ofMinutes(10), Duration.ofMillis(500),
+                Duration.ZERO);
+    }
+
+    private Mono<TroubleTicketResponse> load(String name) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return ticket(name);
+        });
+    }
+
+    private static TroubleTicketResponse ticket(String name) {
+        return TroubleTicketResponse.builder().id("VIVO").name(name).build();
+    }
+
+    private static String value(String key) {
+        return redis.opsForValue().get(key).block();
+    }
+
+    /**
+     * Execuções de script no servidor (INFO commandstats)
+     */
+    private static long scriptCalls() {
+        Properties stats = redis.execute(connection -> connection.serverCommands().info("commandstats")).blockLast();
+        return Stream.of("cmdstat_evalsha", "cmdstat_eval")
+                .map(stats::getProperty)
+                .filter(Objects::nonNull)
+                .mapToLong(stat -> Long.parseLong(stat.replaceAll("^calls=(\\d+),.*$", "$1")))
+                .sum();
+    }
+
+    private static double redisCounter(SimpleMeterRegistry meterRegistry, String result) {
+        return meterRegistry.get("tickets.cache.redis").tag("result", result).counter().count();
+    }
+
+    /**
+     * As gravações no Redis são fire-and-forget: espera o efeito aparecer
+     */
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condição não atendida em 5s");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static LettuceConnectionFactory connectionFactory(int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory("localhost", port);
+        factory.afterPropertiesSet();
+        factory.start();
+        return Objects.requireNonNull(factory);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
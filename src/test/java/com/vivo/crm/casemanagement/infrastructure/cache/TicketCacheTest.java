@@ -0,0 +1,119 @@
+package com.vivo.crm.casemanagement.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Near cache sem Redis: leituras concorrentes compartilham a carga, e a carga que disputa com uma
+ * alteração não devolve o ticket antigo ao cache
+ */
+class TicketCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TicketCache(mock(ObjectProvider.class), new ObjectMapper(), meterRegistry,
+                true, 100, Duration.ofMinutes(1), false, Duration.ofMinutes(10), Duration.ofMillis(200),
+                Duration.ZERO);
+    }
+
+    @Test
+    void loadRacingAnInvalidateIsNotCached() {
+        Sinks.One<TroubleTicketResponse> staleRead = Sinks.one();
+
+        StepVerifier.create(cache.get("VIVO-1", () -> {
+                    loads.incrementAndGet();
+                    return staleRead.asMono();
+                }))
+                // A alteração é confirmada e invalida o cache enquanto a leitura antiga ainda está em andamento
+                .then(() -> cache.invalidate("VIVO-1"))
+                .then(() -> staleRead.tryEmitValue(ticket("antigo")))
+                .assertNext(response -> assertThat(response.getName()).isEqualTo("antigo"))
+                .verifyComplete();
+
+        StepVerifier.create(cache.get("VIVO-1", () -> load("novo")))
+                .assertNext(response -> assertThat(response.getName()).isEqualTo("novo"))
+                .verifyComplete();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadAfterInvalidateIsCached() {
+        cache.invalidate("VIVO-2");
+
+        StepVerifier.create(cache.get("VIVO-2", () -> load("novo"))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.get("VIVO-2", () -> load("outro")))
+                .assertNext(response -> assertThat(response.getName()).isEqualTo("novo"))
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void concurrentMissesShareOneDatabaseLoad() {
+        Sinks.One<TroubleTicketResponse> slowRead = Sinks.one();
+
+        Mono<List<TroubleTicketResponse>> all = Flux.range(0, 32)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> cache.get("VIVO-3", () -> {
+                    loads.incrementAndGet();
+                    return slowRead.asMono();
+                }))
+                .sequential()
+                .collectList();
+
+        StepVerifier.create(all)
+                .then(() -> awaitCoalesced(32))
+                .then(() -> slowRead.tryEmitValue(ticket("lido")))
+                .assertNext(responses -> assertThat(responses).hasSize(32)
+                        .allSatisfy(response -> assertThat(response.getName()).isEqualTo("lido")))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(coalesced("leader")).isEqualTo(1);
+        assertThat(coalesced("joined")).isEqualTo(31);
+    }
+
+    private double coalesced(String result) {
+        return meterRegistry.get("tickets.coalescing").tag("result", result).counter().count();
+    }
+
+    private void awaitCoalesced(int subscribers) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (coalesced("leader") + coalesced("joined") < subscribers && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private Mono<TroubleTicketResponse> load(String name) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return ticket(name);
+        });
+    }
+
+    private static TroubleTicketResponse ticket(String name) {
+        return TroubleTicketResponse.builder().id("VIVO-1").name(name).build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.vivo.crm.casemanagement.infrastructure.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vivo.crm.casemanagement.interfaces.rest.dto.TroubleTicketResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dois IdempotencyGuard sobre o mesmo store simulam dois nós atrás do balanceador
+ */
+class IdempotencyGuardTest {
+
+    private static final Map<String, String> BODY = Map.of("name", "Sem sinal");
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyGuard nodeA;
+    private IdempotencyGuard nodeB;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(new SimpleMeterRegistry(), Duration.ofHours(1), 1000);
+        nodeA = guard(Duration.ofMillis(500));
+        nodeB = guard(Duration.ofMillis(500));
+    }
+
+    @Test
+    void retryOnAnotherNodeWaitsForTheReservedExecution() {
+        Sinks.One<TroubleTicketResponse> slowCreate = Sinks.one();
+
+        Mono<IdempotencyGuard.IdempotentResult> first = nodeA.execute("k1", BODY, () -> {
+            executions.incrementAndGet();
+            return slowCreate.asMono();
+        }).cache();
+        first.subscribe();
+
+        StepVerifier.create(nodeB.execute("k1", BODY, this::create))
+                .then(() -> slowCreate.tryEmitValue(ticket("VIVO-1")))
+                .assertNext(result -> {
+                    assertThat(result.replayed()).isTrue();
+                    assertThat(result.response().getId()).isEqualTo("VIVO-1");
+                })
+                .verifyComplete();
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void retryOnAnotherNodeGets409WhileStillPending() {
+        nodeA.execute("k2", BODY, () -> {
+            executions.incrementAndGet();
+            return Mono.never();
+        }).subscribe();
+
+        StepVerifier.create(nodeB.execute("k2", BODY, this::create))
+                .expectError(IdempotencyKeyInProgressException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void completedKeyIsReplayedOnAnyNode() {
+        StepVerifier.create(nodeA.execute("k3", BODY, this::create))
+                .assertNext(result -> assertThat(result.replayed()).isFalse())
+                .verifyComplete();
+
+        StepVerifier.create(nodeB.execute("k3", BODY, this::create))
+                .assertNext(result -> assertThat(result.replayed()).isTrue())
+                .verifyComplete();
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failureReleasesTheReservation() {
+        StepVerifier.create(nodeA.execute("k4", BODY, () -> Mono.error(new IllegalStateException("falhou"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(nodeB.execute("k4", BODY, this::create))
+                .assertNext(result -> assertThat(result.replayed()).isFalse())
+                .verifyComplete();
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void pendingKeyWithAnotherBodyIsAConflict() {
+        nodeA.execute("k5", BODY, Mono::never).subscribe();
+
+        StepVerifier.create(nodeB.execute("k5", Map.of("name", "Outro"), this::create))
+                .expectError(IdempotencyKeyConflictException.class)
+                .verify();
+    }
+
+    private IdempotencyGuard guard(Duration pendingWait) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new IdempotencyGuard(store, objectMapper, new SimpleMeterRegistry(), true,
+                Duration.ofSeconds(60), pendingWait, Duration.ofMillis(10));
+    }
+
+    private Mono<TroubleTicketResponse> create() {
+        return Mono.fromSupplier(() -> ticket("VIVO-" + executions.incrementAndGet()));
+    }
+
+    private static TroubleTicketResponse ticket(String id) {
+        return TroubleTicketResponse.builder().id(id).build();
+    }
+}
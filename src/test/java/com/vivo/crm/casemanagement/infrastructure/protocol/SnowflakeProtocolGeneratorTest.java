@@ -0,0 +1,142 @@
+package com.vivo.crm.casemanagement.infrastructure.protocol;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.vivo.crm.casemanagement.infrastructure.protocol.SnowflakeProtocolGenerator.NODE_BITS;
+import static com.vivo.crm.casemanagement.infrastructure.protocol.SnowflakeProtocolGenerator.SEQUENCE_BITS;
+import static com.vivo.crm.casemanagement.infrastructure.protocol.SnowflakeProtocolGenerator.SEQUENCE_MASK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnowflakeProtocolGeneratorTest {
+
+    private static final String EPOCH = "2026-01-01T00:00:00Z";
+    private static final long EPOCH_MILLIS = Instant.parse(EPOCH).toEpochMilli();
+    private static final long NODE_ID = 7;
+
+    /**
+     * Relógio controlado pelo teste
+     */
+    private static final class ManualClockGenerator extends SnowflakeProtocolGenerator {
+
+        private final AtomicLong now = new AtomicLong(EPOCH_MILLIS + 1_000);
+
+        ManualClockGenerator() {
+            super("VIVO-", NODE_ID, EPOCH);
+        }
+
+        @Override
+        long currentTimeMillis() {
+            return now.get();
+        }
+
+        void advance(long millis) {
+            now.addAndGet(millis);
+        }
+    }
+
+    @Test
+    void idsAreUniqueAndIncreasingAcrossThreads() throws Exception {
+        SnowflakeProtocolGenerator generator = new SnowflakeProtocolGenerator("VIVO-", NODE_ID, EPOCH);
+        int threads = 8;
+        int perThread = 50_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long previous = -1;
+                    boolean increasing = true;
+                    for (int i = 0; i < perThread; i++) {
+                        long id = generator.nextId();
+                        increasing &= id > previous;
+                        previous = id;
+                        ids.add(id);
+                    }
+                    return increasing;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(threads * perThread);
+        assertThat(ids).allSatisfy(id -> assertThat(nodeOf(id)).isEqualTo(NODE_ID));
+    }
+
+    @Test
+    void clockRollbackKeepsIssuingAfterTheLastId() {
+        ManualClockGenerator generator = new ManualClockGenerator();
+        long beforeRollback = generator.nextId();
+
+        generator.advance(-5_000);
+        long afterRollback = generator.nextId();
+
+        assertThat(afterRollback).isGreaterThan(beforeRollback);
+        assertThat(timestampOf(afterRollback)).isEqualTo(timestampOf(beforeRollback));
+        assertThat(sequenceOf(afterRollback)).isEqualTo(sequenceOf(beforeRollback) + 1);
+
+        // O relógio volta a andar: IDs do timestamp real só depois de ultrapassar o último emitido
+        generator.advance(5_001);
+        long recovered = generator.nextId();
+        assertThat(recovered).isGreaterThan(afterRollback);
+        assertThat(sequenceOf(recovered)).isZero();
+    }
+
+    @Test
+    void sequenceRolloverBorrowsTheNextMillisecond() {
+        ManualClockGenerator generator = new ManualClockGenerator();
+        long first = generator.nextId();
+        long last = first;
+        for (int i = 1; i <= SEQUENCE_MASK; i++) {
+            last = generator.nextId();
+        }
+        assertThat(timestampOf(last)).isEqualTo(timestampOf(first));
+        assertThat(sequenceOf(last)).isEqualTo(SEQUENCE_MASK);
+
+        // 4097º ID no mesmo milissegundo: o estouro avança o timestamp em vez de repetir a sequência 0
+        long overflow = generator.nextId();
+        assertThat(overflow).isGreaterThan(last);
+        assertThat(timestampOf(overflow)).isEqualTo(timestampOf(first) + 1);
+        assertThat(sequenceOf(overflow)).isZero();
+        assertThat(nodeOf(overflow)).isEqualTo(NODE_ID);
+
+        // Quando o relógio alcança o milissegundo emprestado, a sequência continua sem repetir
+        generator.advance(1);
+        long caughtUp = generator.nextId();
+        assertThat(caughtUp).isGreaterThan(overflow);
+        assertThat(timestampOf(caughtUp)).isEqualTo(timestampOf(overflow));
+        assertThat(sequenceOf(caughtUp)).isEqualTo(1);
+    }
+
+    private static long timestampOf(long id) {
+        return id >>> (NODE_BITS + SEQUENCE_BITS);
+    }
+
+    private static long nodeOf(long id) {
+        return (id >>> SEQUENCE_BITS) & ((1L << NODE_BITS) - 1);
+    }
+
+    private static long sequenceOf(long id) {
+        return id & SEQUENCE_MASK;
+    }
+}
@@ -0,0 +1,198 @@
+package com.vivo.crm.casemanagement.infrastructure.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latência medida por um relógio manual e expiração da fila em tempo virtual: nenhum teste depende de sleep
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration THRESHOLD = Duration.ofMillis(100);
+    private static final Duration MAX_WAIT = Duration.ofSeconds(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void fastCallsGrowTheLimitOnlyWhileItIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 10, 10);
+
+        // Uma chamada por vez usa menos da metade do limite: nada de crescer sem demanda
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(limiter.execute(() -> call(Duration.ofMillis(10)))).expectNext("ok").verifyComplete();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void concurrentFastCallsGrowTheLimitUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = limiter(3, 4, 10);
+        List<Sinks.One<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Sinks.One<String> sink = Sinks.one();
+            calls.add(sink);
+            limiter.execute(sink::asMono).subscribe();
+        }
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+
+        clock.addAndGet(Duration.ofMillis(10).toNanos());
+        calls.forEach(sink -> sink.tryEmitValue("ok"));
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void slowCallShrinksTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 20, 10);
+
+        StepVerifier.create(limiter.execute(() -> call(Duration.ofMillis(500)))).expectNext("ok").verifyComplete();
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void overloadErrorsShrinkTheLimitButClientErrorsDoNot() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 20, 10);
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(
+                        WebClientResponseException.create(400, "Bad Request", null, null, null))))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(
+                        WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(), "Unavailable", null, null, null))))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        StepVerifier.create(limiter.execute(() -> Mono.error(
+                        WebClientResponseException.create(429, "Too Many Requests", null, null, null))))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void limitNeverDropsBelowMin() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 10, 10);
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(limiter.execute(() -> call(Duration.ofSeconds(1)))).expectNext("ok").verifyComplete();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void queuedCallExpiresAfterMaxWait() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        Sinks.One<String> busy = Sinks.one();
+
+        StepVerifier.withVirtualTime(() -> {
+                    limiter.execute(busy::asMono).subscribe();
+                    return limiter.execute(() -> call(Duration.ZERO));
+                })
+                .expectSubscription()
+                .then(() -> assertThat(limiter.getQueueDepth()).isEqualTo(1))
+                .expectNoEvent(MAX_WAIT.minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .expectError(ConcurrencyLimitExceededException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(limiter.getQueueDepth()).isZero();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(rejected("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueRejectsImmediately() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1);
+        limiter.execute(() -> Sinks.<String>one().asMono()).subscribe();
+        limiter.execute(() -> call(Duration.ZERO)).subscribe();
+
+        StepVerifier.create(limiter.execute(() -> call(Duration.ZERO)))
+                .expectError(ConcurrencyLimitExceededException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(limiter.getQueueDepth()).isEqualTo(1);
+        assertThat(rejected("queue-full")).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledWaiterLeavesTheQueue() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        Sinks.One<String> busy = Sinks.one();
+        limiter.execute(busy::asMono).subscribe();
+
+        Disposable waiting = limiter.execute(() -> call(Duration.ZERO)).subscribe();
+        assertThat(limiter.getQueueDepth()).isEqualTo(1);
+        waiting.dispose();
+        assertThat(limiter.getQueueDepth()).isZero();
+
+        // A permissão em uso volta ao término e a próxima chamada é admitida na hora
+        busy.tryEmitValue("ok");
+        assertThat(limiter.getInFlight()).isZero();
+        StepVerifier.create(limiter.execute(() -> call(Duration.ZERO))).expectNext("ok").verifyComplete();
+    }
+
+    @Test
+    void cancelledCallReleasesItsPermit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        Sinks.One<String> busy = Sinks.one();
+        limiter.execute(busy::asMono).subscribe();
+
+        // Na fila, recebe a permissão quando a primeira termina e é cancelada durante a chamada
+        Disposable granted = limiter.execute(() -> Sinks.<String>one().asMono()).subscribe();
+        busy.tryEmitValue("ok");
+        assertThat(limiter.getQueueDepth()).isZero();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        granted.dispose();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit, int maxQueue) {
+        return new AdaptiveConcurrencyLimiter("test", initialLimit, 1, maxLimit, 0.5, THRESHOLD, maxQueue,
+                MAX_WAIT, meterRegistry) {
+            @Override
+            long nanoTime() {
+                return clock.get();
+            }
+        };
+    }
+
+    /**
+     * Chamada que "leva" latency no relógio manual
+     */
+    private Mono<String> call(Duration latency) {
+        return Mono.fromSupplier(() -> {
+            clock.addAndGet(latency.toNanos());
+            return "ok";
+        });
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("test.concurrency.rejected").tag("reason", reason).counter().count();
+    }
+}
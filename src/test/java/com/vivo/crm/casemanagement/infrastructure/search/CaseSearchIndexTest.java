@@ -0,0 +1,64 @@
+package com.vivo.crm.casemanagement.infrastructure.search;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O total da busca é exato até TOTAL_HITS_THRESHOLD e marcado como limite inferior acima disso
+ */
+class CaseSearchIndexTest {
+
+    private final CaseSearchIndex index = newIndex();
+
+    @AfterEach
+    void close() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void totalIsExactUpToTheThreshold() {
+        indexCases(CaseSearchIndex.TOTAL_HITS_THRESHOLD);
+
+        CaseSearchIndex.Hits hits = index.search("fibra", 0, 20);
+
+        assertThat(hits.caseIds()).hasSize(20);
+        assertThat(hits.total()).isEqualTo(CaseSearchIndex.TOTAL_HITS_THRESHOLD);
+        assertThat(hits.totalExact()).isTrue();
+    }
+
+    @Test
+    void totalAboveTheThresholdIsALowerBound() {
+        indexCases(CaseSearchIndex.TOTAL_HITS_THRESHOLD * 3);
+
+        CaseSearchIndex.Hits hits = index.search("fibra", 0, 20);
+
+        assertThat(hits.caseIds()).hasSize(20);
+        assertThat(hits.total()).isGreaterThanOrEqualTo(CaseSearchIndex.TOTAL_HITS_THRESHOLD)
+                .isLessThan(CaseSearchIndex.TOTAL_HITS_THRESHOLD * 3L);
+        assertThat(hits.totalExact()).isFalse();
+    }
+
+    private void indexCases(int count) {
+        index.indexAll(IntStream.range(0, count)
+                .mapToObj(i -> new SearchDocument("case-" + i, "VIVO-" + i, "Fibra sem sinal",
+                        "Cliente sem internet desde ontem", "customer-" + i, "Cliente " + i, List.of(), Instant.now()))
+                .toList());
+        index.refresh();
+    }
+
+    private static CaseSearchIndex newIndex() {
+        try {
+            return new CaseSearchIndex(new ByteBuffersDirectory(), new PortugueseTextAnalyzer(), 16);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}